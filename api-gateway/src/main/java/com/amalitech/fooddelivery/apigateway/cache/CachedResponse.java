@@ -0,0 +1,28 @@
+package com.amalitech.fooddelivery.apigateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A complete upstream response as the gateway stores and replays it.
+ *
+ * @param headers        response headers without hop-by-hop ones and {@code Content-Length}
+ * @param fetchedAtNanos {@link System#nanoTime()} when the response was received
+ * @param shareable      false when it set cookies or went through error handling, so it can't be replayed
+ *                       to another caller
+ */
+public record CachedResponse(int status, Map<String, List<String>> headers, byte[] body,
+                             long fetchedAtNanos, boolean shareable) {
+
+  /**
+   * Only plain 200s are stored.
+   */
+  public boolean cacheable() {
+    return shareable && status == 200;
+  }
+
+  public String header(String name) {
+    List<String> values = headers.get(name);
+    return values == null || values.isEmpty() ? null : values.getFirst();
+  }
+}
@@ -0,0 +1,286 @@
+package com.amalitech.fooddelivery.apigateway.cache;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Response that keeps status, headers and body in memory instead of writing them to the client, so the
+ * gateway can store the upstream response and replay it, or refresh a cache entry after the client has
+ * already been answered.
+ */
+class CapturingResponse extends HttpServletResponseWrapper {
+
+  private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+          "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade", "te", "trailer",
+          "content-length");
+
+  private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private final List<Cookie> cookies = new ArrayList<>();
+  private int status = SC_OK;
+  private String errorMessage;
+  private boolean error;
+  private Charset charset = StandardCharsets.UTF_8;
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+
+  CapturingResponse(HttpServletResponse response) {
+    super(response);
+  }
+
+  /**
+   * Snapshot of what was written so far.
+   */
+  CachedResponse toCachedResponse(long fetchedAtNanos) {
+    if (writer != null) {
+      writer.flush();
+    }
+    boolean shareable = !error && cookies.isEmpty() && !headers.containsKey(HttpHeaders.SET_COOKIE);
+    Map<String, List<String>> copy = new LinkedCaseInsensitiveMap<>(headers.size());
+    headers.forEach((name, values) -> {
+      if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+        copy.put(name, List.copyOf(values));
+      }
+    });
+    return new CachedResponse(status, Collections.unmodifiableMap(copy), body.toByteArray(), fetchedAtNanos,
+            shareable);
+  }
+
+  /**
+   * Replays cookies and errors, which a {@link CachedResponse} never holds, onto the real response.
+   *
+   * @return true when the response was completed here (an error was sent)
+   */
+  boolean replayUncacheable(HttpServletResponse response) throws IOException {
+    cookies.forEach(response::addCookie);
+    if (error) {
+      if (errorMessage != null) {
+        response.sendError(status, errorMessage);
+      } else {
+        response.sendError(status);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  // ---- status ----
+
+  @Override
+  public void setStatus(int sc) {
+    this.status = sc;
+  }
+
+  @Override
+  public int getStatus() {
+    return status;
+  }
+
+  @Override
+  public void sendError(int sc) {
+    sendError(sc, null);
+  }
+
+  @Override
+  public void sendError(int sc, String msg) {
+    this.status = sc;
+    this.errorMessage = msg;
+    this.error = true;
+  }
+
+  @Override
+  public void sendRedirect(String location) {
+    this.status = SC_FOUND;
+    setHeader(HttpHeaders.LOCATION, location);
+  }
+
+  // ---- headers ----
+
+  @Override
+  public void setHeader(String name, String value) {
+    if (value == null) {
+      headers.remove(name);
+    } else {
+      headers.put(name, new ArrayList<>(List.of(value)));
+    }
+  }
+
+  @Override
+  public void addHeader(String name, String value) {
+    if (value != null) {
+      headers.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+    }
+  }
+
+  @Override
+  public void setIntHeader(String name, int value) {
+    setHeader(name, String.valueOf(value));
+  }
+
+  @Override
+  public void addIntHeader(String name, int value) {
+    addHeader(name, String.valueOf(value));
+  }
+
+  @Override
+  public void setDateHeader(String name, long date) {
+    setHeader(name, formatDate(date));
+  }
+
+  @Override
+  public void addDateHeader(String name, long date) {
+    addHeader(name, formatDate(date));
+  }
+
+  @Override
+  public boolean containsHeader(String name) {
+    return headers.containsKey(name);
+  }
+
+  @Override
+  public String getHeader(String name) {
+    List<String> values = headers.get(name);
+    return values == null || values.isEmpty() ? null : values.getFirst();
+  }
+
+  @Override
+  public Collection<String> getHeaders(String name) {
+    return headers.getOrDefault(name, List.of());
+  }
+
+  @Override
+  public Collection<String> getHeaderNames() {
+    return headers.keySet();
+  }
+
+  @Override
+  public void addCookie(Cookie cookie) {
+    cookies.add(cookie);
+  }
+
+  @Override
+  public void setContentType(String type) {
+    setHeader(HttpHeaders.CONTENT_TYPE, type);
+    if (type != null) {
+      int index = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+      if (index >= 0) {
+        charset = Charset.forName(type.substring(index + 8).trim());
+      }
+    }
+  }
+
+  @Override
+  public String getContentType() {
+    return getHeader(HttpHeaders.CONTENT_TYPE);
+  }
+
+  @Override
+  public void setCharacterEncoding(String encoding) {
+    if (encoding != null) {
+      charset = Charset.forName(encoding);
+    }
+  }
+
+  @Override
+  public String getCharacterEncoding() {
+    return charset.name();
+  }
+
+  @Override
+  public void setContentLength(int len) {
+    // Recomputed from the captured body
+  }
+
+  @Override
+  public void setContentLengthLong(long len) {
+    // Recomputed from the captured body
+  }
+
+  // ---- body ----
+
+  @Override
+  public ServletOutputStream getOutputStream() {
+    if (outputStream == null) {
+      outputStream = new ServletOutputStream() {
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+          throw new UnsupportedOperationException("Captured responses are written synchronously");
+        }
+
+        @Override
+        public void write(int b) {
+          body.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+          body.write(b, off, len);
+        }
+      };
+    }
+    return outputStream;
+  }
+
+  @Override
+  public PrintWriter getWriter() {
+    if (writer == null) {
+      writer = new PrintWriter(new OutputStreamWriter(body, charset));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public boolean isCommitted() {
+    return false;
+  }
+
+  @Override
+  public void reset() {
+    resetBuffer();
+    headers.clear();
+    cookies.clear();
+    status = SC_OK;
+    error = false;
+    errorMessage = null;
+  }
+
+  @Override
+  public void resetBuffer() {
+    if (writer != null) {
+      writer.flush();
+    }
+    body.reset();
+  }
+
+  private static String formatDate(long date) {
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC));
+  }
+}
@@ -0,0 +1,40 @@
+package com.amalitech.fooddelivery.apigateway.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Invalidates cached catalog responses on every {@code restaurant.*} event (created, updated, menu updated).
+ *
+ * Only the {@code restaurantId} every such event carries is read, so the gateway does not need the event
+ * classes; a message without one drops the whole cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+
+  private final ResponseCache responseCache;
+  private final JsonMapper jsonMapper;
+
+  @RabbitListener(queues = "#{responseCacheQueue.name}")
+  public void onRestaurantEvent(Message message) {
+    String restaurantId = null;
+    try {
+      JsonNode restaurant = jsonMapper.readTree(message.getBody()).path("restaurantId");
+      if (restaurant.isIntegralNumber()) {
+        restaurantId = restaurant.asString();
+      }
+    } catch (JacksonException e) {
+      log.warn("Unreadable {} event, dropping all cached responses: {}",
+              message.getMessageProperties().getReceivedRoutingKey(), e.getMessage());
+    }
+    responseCache.invalidateRestaurant(restaurantId);
+  }
+}
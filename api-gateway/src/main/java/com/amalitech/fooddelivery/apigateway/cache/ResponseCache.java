@@ -0,0 +1,105 @@
+package com.amalitech.fooddelivery.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached public GET responses, bounded by total body size ({@code app.response-cache.max-size}).
+ *
+ * Entries are dropped once they are past their stale-while-revalidate window. Restaurant changes invalidate
+ * the entries of that restaurant plus every entry not tied to one restaurant (listings); a generation counter
+ * keeps a response fetched before an invalidation from being stored after it.
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+
+  // Rough per-entry overhead (key, headers, bookkeeping) so tiny bodies still count
+  private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+  private final Cache<CacheKey, Entry> entries;
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * @param restaurantId restaurant the response belongs to, null when any restaurant change may affect it
+   * @param uri          path and query string
+   * @param variant      values of the configured vary headers
+   */
+  public record CacheKey(String route, String restaurantId, String uri, String variant) {
+  }
+
+  /**
+   * @param freshUntilNanos    served as a hit until then
+   * @param servableUntilNanos served stale (while one request refreshes it) until then
+   */
+  public record Entry(CachedResponse response, long freshUntilNanos, long servableUntilNanos) {
+
+    public boolean isFresh(long nowNanos) {
+      return nowNanos - freshUntilNanos < 0;
+    }
+
+    public boolean isServable(long nowNanos) {
+      return nowNanos - servableUntilNanos < 0;
+    }
+  }
+
+  public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+    this.entries = Caffeine.newBuilder()
+            .maximumWeight(properties.maxSize().toBytes())
+            .weigher((CacheKey key, Entry entry) ->
+                    ENTRY_OVERHEAD_BYTES + key.uri().length() + key.variant().length()
+                            + entry.response().body().length)
+            .expireAfter(Expiry.<CacheKey, Entry>writing((key, entry) ->
+                    Duration.ofNanos(Math.max(0, entry.servableUntilNanos() - System.nanoTime()))))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.responses");
+  }
+
+  public Entry get(CacheKey key) {
+    return entries.getIfPresent(key);
+  }
+
+  /**
+   * Current generation; read it before fetching and hand it to {@link #put}.
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Stores {@code response} unless an invalidation happened since {@code fetchedInGeneration}.
+   */
+  public void put(CacheKey key, CachedResponse response, Duration ttl, Duration staleWhileRevalidate,
+                  long fetchedInGeneration) {
+    if (!response.cacheable() || (ttl.isZero() && staleWhileRevalidate.isZero())
+            || generation.get() != fetchedInGeneration) {
+      return;
+    }
+    long freshUntil = response.fetchedAtNanos() + ttl.toNanos();
+    Entry entry = new Entry(response, freshUntil, freshUntil + staleWhileRevalidate.toNanos());
+    entries.put(key, entry);
+    // An invalidation that ran between the check and the put must still win
+    if (generation.get() != fetchedInGeneration) {
+      entries.asMap().remove(key, entry);
+    }
+  }
+
+  /**
+   * Drops everything a change to {@code restaurantId} may affect; null drops every entry.
+   */
+  public void invalidateRestaurant(String restaurantId) {
+    generation.incrementAndGet();
+    entries.asMap().keySet().removeIf(key ->
+            restaurantId == null || key.restaurantId() == null || key.restaurantId().equals(restaurantId));
+    log.debug("Invalidated cached responses for restaurant {}", restaurantId);
+  }
+}
@@ -0,0 +1,306 @@
+package com.amalitech.fooddelivery.apigateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves the public GET routes in {@code app.response-cache.routes} from {@link ResponseCache}.
+ *
+ * A fresh entry is answered directly ({@code X-Cache: HIT}). Past its TTL but within the stale-while-revalidate
+ * window the stale copy is answered ({@code X-Cache: STALE}) and one request per key then refreshes the entry,
+ * after its own response has been flushed, so no client waits on the backend. Otherwise the request is proxied
+ * as usual and the response stored ({@code X-Cache: MISS}). Upstream {@code Cache-Control} is not consulted:
+ * only routes configured here are cached, and only plain 200s without cookies. Conditional headers are
+ * stripped upstream and answered from the cached {@code ETag}.
+ *
+ * Identical concurrent misses (same route, path, query and {@code vary-headers}) are collapsed: the first
+ * request fetches, the others wait up to {@code coalesce-timeout} for its response ({@code X-Cache: COALESCED})
+ * instead of all hitting the backend when a popular entry expires. Only a response that could be cached (a
+ * 200 without cookies) is shared; after anything else the waiters fetch their own. Routes with a zero TTL
+ * are only coalesced, never stored.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // after the rate limiter, before security and routing
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+  public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+  private static final String RESTAURANT_ID_VARIABLE = "restaurantId";
+  private static final Set<String> CONDITIONAL_HEADERS = Set.of("if-none-match", "if-modified-since");
+
+  private final ResponseCache responseCache;
+  private final boolean enabled;
+  private final List<String> varyHeaders;
+  private final boolean coalesce;
+  private final Duration coalesceTimeout;
+  private final List<CachedRoute> routes = new ArrayList<>();
+  // One upstream call per key at a time: misses and stale revalidations register here
+  private final Map<ResponseCache.CacheKey, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+  private record CachedRoute(String name, PathPattern pattern, Duration ttl, Duration staleWhileRevalidate,
+                             Counter hits, Counter staleHits, Counter misses, Counter coalesced) {
+  }
+
+  public ResponseCacheFilter(ResponseCache responseCache, ResponseCacheProperties properties,
+                             MeterRegistry meterRegistry) {
+    this.responseCache = responseCache;
+    this.enabled = properties.enabled();
+    this.varyHeaders = properties.varyHeaders();
+    this.coalesce = properties.coalesce();
+    this.coalesceTimeout = properties.coalesceTimeout();
+    PathPatternParser parser = new PathPatternParser();
+    for (ResponseCacheProperties.Route route : properties.routes()) {
+      routes.add(new CachedRoute(route.name(), parser.parse(route.path()),
+              route.ttl() == null ? Duration.ZERO : route.ttl(),
+              route.staleWhileRevalidate() == null ? Duration.ZERO : route.staleWhileRevalidate(),
+              requestCounter(meterRegistry, route.name(), "hit"),
+              requestCounter(meterRegistry, route.name(), "stale"),
+              requestCounter(meterRegistry, route.name(), "miss"),
+              requestCounter(meterRegistry, route.name(), "coalesced")));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !enabled || routes.isEmpty() || !HttpMethod.GET.matches(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                  @NonNull HttpServletResponse response,
+                                  @NonNull FilterChain chain) throws ServletException, IOException {
+    PathContainer path = PathContainer.parsePath(request.getRequestURI());
+    for (CachedRoute route : routes) {
+      PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(path);
+      if (match != null) {
+        String query = request.getQueryString();
+        ResponseCache.CacheKey key = new ResponseCache.CacheKey(route.name(),
+                match.getUriVariables().get(RESTAURANT_ID_VARIABLE),
+                query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query,
+                variant(request));
+        serve(route, key, request, response, chain);
+        return;
+      }
+    }
+    chain.doFilter(request, response);
+  }
+
+  private void serve(CachedRoute route, ResponseCache.CacheKey key, HttpServletRequest request,
+                     HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+    long now = System.nanoTime();
+    ResponseCache.Entry entry = responseCache.get(key);
+
+    if (entry != null && entry.isFresh(now)) {
+      route.hits().increment();
+      write(entry.response(), "HIT", request, response);
+      return;
+    }
+
+    if (entry != null && entry.isServable(now)) {
+      route.staleHits().increment();
+      write(entry.response(), "STALE", request, response);
+      CompletableFuture<CachedResponse> revalidation = new CompletableFuture<>();
+      if (inFlight.putIfAbsent(key, revalidation) == null) {
+        try {
+          // The client has its answer; refresh the entry on this thread
+          response.flushBuffer();
+          fetch(route, key, request, new CapturingResponse(response), chain, revalidation);
+        } catch (IOException | ServletException | RuntimeException e) {
+          log.debug("Revalidating {} failed, keeping the stale copy: {}", key.uri(), e.getMessage());
+        }
+      }
+      return;
+    }
+
+    CompletableFuture<CachedResponse> flight = null;
+    if (coalesce) {
+      CompletableFuture<CachedResponse> registered = new CompletableFuture<>();
+      CompletableFuture<CachedResponse> leader = inFlight.putIfAbsent(key, registered);
+      if (leader != null) {
+        CachedResponse shared = await(leader, key);
+        if (shared != null) {
+          route.coalesced().increment();
+          write(shared, "COALESCED", request, response);
+          return;
+        }
+        // Not shareable or too slow: fetch independently
+      } else {
+        flight = registered;
+      }
+    }
+
+    route.misses().increment();
+    CapturingResponse captured = new CapturingResponse(response);
+    CachedResponse fetched = fetch(route, key, request, captured, chain, flight);
+    if (!captured.replayUncacheable(response)) {
+      write(fetched, "MISS", request, response);
+    }
+  }
+
+  /**
+   * Proxies the request into {@code captured} and stores the result. When {@code flight} is given this call is
+   * the one registered for {@code key}: waiters get the response through it, or null if it can't be shared.
+   */
+  private CachedResponse fetch(CachedRoute route, ResponseCache.CacheKey key, HttpServletRequest request,
+                               CapturingResponse captured, FilterChain chain,
+                               CompletableFuture<CachedResponse> flight) throws ServletException, IOException {
+    CachedResponse fetched = null;
+    try {
+      long generation = responseCache.generation();
+      chain.doFilter(new UnconditionalRequest(request), captured);
+      fetched = captured.toCachedResponse(System.nanoTime());
+      responseCache.put(key, fetched, route.ttl(), route.staleWhileRevalidate(), generation);
+      return fetched;
+    } finally {
+      if (flight != null) {
+        // Store first, then unregister, so a request arriving in between finds the entry
+        inFlight.remove(key, flight);
+        flight.complete(fetched != null && fetched.cacheable() ? fetched : null);
+      }
+    }
+  }
+
+  /**
+   * Waits for the in-flight call for {@code key}.
+   *
+   * @return its response, or null when it can't be shared or didn't arrive in time
+   */
+  private CachedResponse await(CompletableFuture<CachedResponse> flight, ResponseCache.CacheKey key) {
+    try {
+      return flight.get(coalesceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.debug("Gave up waiting for the in-flight request for {}", key.uri());
+      return null;
+    } catch (ExecutionException e) {
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private String variant(HttpServletRequest request) {
+    if (varyHeaders.isEmpty()) {
+      return "";
+    }
+    StringBuilder variant = new StringBuilder();
+    for (String header : varyHeaders) {
+      String value = request.getHeader(header);
+      variant.append(value == null ? "" : value).append('\n');
+    }
+    return variant.toString();
+  }
+
+  private static void write(CachedResponse cached, String cacheStatus, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+    cached.headers().forEach((name, values) -> {
+      response.setHeader(name, values.getFirst());
+      values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+    });
+    response.setHeader(CACHE_STATUS_HEADER, cacheStatus);
+    response.setHeader(HttpHeaders.AGE,
+            String.valueOf(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - cached.fetchedAtNanos())));
+
+    String eTag = cached.header(HttpHeaders.ETAG);
+    if (cached.status() == HttpServletResponse.SC_OK && eTag != null
+            && matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+    response.setStatus(cached.status());
+    response.setContentLength(cached.body().length);
+    response.getOutputStream().write(cached.body());
+  }
+
+  private static boolean matchesETag(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    String tag = stripWeak(eTag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if (trimmed.equals("*") || stripWeak(trimmed).equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeak(String eTag) {
+    return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String route, String result) {
+    return Counter.builder("gateway.cache.requests")
+            .description("Requests to cached gateway routes by cache result")
+            .tag("route", route)
+            .tag("result", result)
+            .register(meterRegistry);
+  }
+
+  /**
+   * Hides the client's conditional headers from the backend so the cache always receives a full 200.
+   */
+  private static final class UnconditionalRequest extends HttpServletRequestWrapper {
+
+    UnconditionalRequest(HttpServletRequest request) {
+      super(request);
+    }
+
+    private static boolean isConditional(String name) {
+      return CONDITIONAL_HEADERS.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return isConditional(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      return isConditional(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+      return isConditional(name) ? -1 : super.getDateHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      List<String> names = new ArrayList<>();
+      for (String name : Collections.list(super.getHeaderNames())) {
+        if (!isConditional(name)) {
+          names.add(name);
+        }
+      }
+      return Collections.enumeration(names);
+    }
+  }
+}
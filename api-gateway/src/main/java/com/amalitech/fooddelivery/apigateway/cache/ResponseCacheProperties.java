@@ -0,0 +1,35 @@
+package com.amalitech.fooddelivery.apigateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gateway response cache ({@code app.response-cache}) for public GET routes.
+ *
+ * @param maxSize         total size of the cached bodies, oldest and least used entries are evicted beyond it
+ * @param varyHeaders     request headers that, besides path and query, tell requests apart
+ * @param coalesce        collapse identical concurrent misses into one upstream call
+ * @param coalesceTimeout how long a collapsed request waits for the shared response before fetching its own
+ */
+@ConfigurationProperties("app.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32MB") DataSize maxSize,
+        @DefaultValue("Accept") List<String> varyHeaders,
+        @DefaultValue("true") boolean coalesce,
+        @DefaultValue("PT10S") Duration coalesceTimeout,
+        @DefaultValue List<Route> routes) {
+
+  /**
+   * @param path                 Spring path pattern; a {@code {restaurantId}} variable scopes invalidation to
+   *                             that restaurant, otherwise any restaurant change invalidates the route
+   * @param ttl                  how long an entry is served as fresh; zero only coalesces concurrent requests
+   * @param staleWhileRevalidate how much longer an entry may be served while one request refreshes it
+   */
+  public record Route(String name, String path, Duration ttl, Duration staleWhileRevalidate) {
+  }
+}
@@ -0,0 +1,31 @@
+package com.amalitech.fooddelivery.apigateway.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuthQueueConfig {
+
+  public static final String REFRESH_FAMILY_UPDATED = "auth.refresh.updated";
+
+  /**
+   * Per-instance, auto-delete queue so every gateway replica learns each refresh token rotation and revocation.
+   */
+  @Bean
+  public Queue refreshTokenQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean
+  public Binding refreshTokenBinding(Queue refreshTokenQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(refreshTokenQueue)
+            .to(exchange)
+            .with(REFRESH_FAMILY_UPDATED);
+  }
+}
@@ -0,0 +1,33 @@
+package com.amalitech.fooddelivery.apigateway.config;
+
+import com.amalitech.fooddelivery.apigateway.cache.ResponseCacheProperties;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+  /**
+   * Per-instance, auto-delete queue so every gateway replica receives each restaurant change event
+   * and can invalidate its cached responses.
+   */
+  @Bean
+  public Queue responseCacheQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean
+  public Binding responseCacheBinding(Queue responseCacheQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(responseCacheQueue)
+            .to(exchange)
+            .with("restaurant.#");
+  }
+}
@@ -3,6 +3,7 @@ package com.amalitech.fooddelivery.apigateway.controller;
 
 import com.amalitech.fooddelivery.apigateway.dto.AuthRequest;
 import com.amalitech.fooddelivery.apigateway.dto.AuthResponse;
+import com.amalitech.fooddelivery.apigateway.dto.RefreshRequest;
 import com.amalitech.fooddelivery.apigateway.dto.RegisterRequest;
 import com.amalitech.fooddelivery.apigateway.service.AuthService;
 import jakarta.validation.Valid;
@@ -30,4 +31,15 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -7,6 +7,7 @@ import lombok.Data;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private Long customerId;
     private String username;
     private String role;
@@ -0,0 +1,18 @@
+package com.amalitech.fooddelivery.apigateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published to RabbitMQ after a login found a password hashed with an outdated BCrypt cost.
+ * The Customer Service stores {@code newHash} only if the password is still {@code previousHash}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordRehashedEvent {
+    private Long customerId;
+    private String previousHash;
+    private String newHash;
+}
@@ -0,0 +1,19 @@
+package com.amalitech.fooddelivery.apigateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast between gateway instances when a refresh token family is issued, rotated or revoked,
+ * so any instance can accept the current refresh token and reject the others.
+ *
+ * A generation of -1 means revoked.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshFamilyEvent {
+    private String familyId;
+    private long generation;
+}
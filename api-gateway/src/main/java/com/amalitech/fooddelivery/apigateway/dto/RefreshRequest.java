@@ -0,0 +1,10 @@
+package com.amalitech.fooddelivery.apigateway.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
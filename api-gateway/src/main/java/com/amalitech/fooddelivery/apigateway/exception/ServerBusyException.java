@@ -0,0 +1,11 @@
+package com.amalitech.fooddelivery.apigateway.exception;
+
+/**
+ * Thrown when the gateway sheds work because a bounded local resource (e.g. the BCrypt pool) is saturated.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,112 @@
+package com.amalitech.fooddelivery.apigateway.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address for rate limiting.
+ *
+ * {@code X-Forwarded-For} is only believed when the direct peer is one of {@code app.rate-limit.trusted-proxies}
+ * (addresses or CIDR ranges). The chain is then read right to left and the first hop that is not a trusted
+ * proxy is the client, so a value the client prepended itself is never used. With no trusted proxies
+ * configured the header is ignored.
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+  private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+  private final List<Cidr> trustedProxies;
+
+  private record Cidr(byte[] network, int prefixLength) {
+
+    boolean contains(byte[] address) {
+      if (address.length != network.length) {
+        return false;
+      }
+      int fullBytes = prefixLength / 8;
+      for (int i = 0; i < fullBytes; i++) {
+        if (address[i] != network[i]) {
+          return false;
+        }
+      }
+      int remainingBits = prefixLength % 8;
+      if (remainingBits == 0) {
+        return true;
+      }
+      int mask = 0xFF << (8 - remainingBits);
+      return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+  }
+
+  public ClientIpResolver(@Value("${app.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+    this.trustedProxies = trustedProxies.stream()
+            .map(String::trim)
+            .filter(entry -> !entry.isEmpty())
+            .map(ClientIpResolver::parseCidr)
+            .toList();
+  }
+
+  public String resolve(HttpServletRequest request) {
+    String peer = request.getRemoteAddr();
+    String forwardedFor = request.getHeader("X-Forwarded-For");
+    if (forwardedFor == null || forwardedFor.isBlank() || !isTrusted(peer)) {
+      return peer;
+    }
+    String[] hops = forwardedFor.split(",");
+    for (int i = hops.length - 1; i >= 0; i--) {
+      String hop = hops[i].trim();
+      if (parseLiteral(hop) == null) {
+        // Garbage in the chain: stop at the last hop we could trust
+        return peer;
+      }
+      if (!isTrusted(hop)) {
+        return hop;
+      }
+      peer = hop;
+    }
+    return peer;
+  }
+
+  private boolean isTrusted(String address) {
+    if (trustedProxies.isEmpty()) {
+      return false;
+    }
+    byte[] bytes = parseLiteral(address);
+    return bytes != null && trustedProxies.stream().anyMatch(cidr -> cidr.contains(bytes));
+  }
+
+  private static Cidr parseCidr(String entry) {
+    int slash = entry.indexOf('/');
+    String address = slash < 0 ? entry : entry.substring(0, slash);
+    byte[] network = parseLiteral(address);
+    if (network == null) {
+      throw new IllegalStateException("Invalid trusted proxy address: " + entry);
+    }
+    int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(entry.substring(slash + 1));
+    return new Cidr(network, prefixLength);
+  }
+
+  /**
+   * Parses an IP literal without ever falling back to a DNS lookup, or returns null.
+   */
+  private static byte[] parseLiteral(String address) {
+    if (address == null || address.isEmpty()
+            || !(IPV4.matcher(address).matches() || address.indexOf(':') >= 0)) {
+      return null;
+    }
+    try {
+      return InetAddress.getByName(address).getAddress();
+    } catch (UnknownHostException e) {
+      return null;
+    }
+  }
+}
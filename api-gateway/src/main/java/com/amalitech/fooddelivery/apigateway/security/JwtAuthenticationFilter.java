@@ -17,10 +17,23 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.*;
 
+/**
+ * Validates the Bearer token and forwards the caller as trusted headers: {@code X-Auth-User} (username),
+ * {@code X-Auth-User-Id} (customer id) and {@code X-Auth-Role} ({@code ROLE_<role>}).
+ *
+ * Services trust these headers, so any {@code X-Auth-*} header sent by the client is dropped, with or
+ * without a token.
+ */
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String AUTH_USER_HEADER = "X-Auth-User";
+    public static final String AUTH_USER_ID_HEADER = "X-Auth-User-Id";
+    public static final String AUTH_ROLE_HEADER = "X-Auth-Role";
+
+    private static final String TRUSTED_HEADER_PREFIX = "x-auth-";
+
     private final JwtUtil jwtUtil;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
@@ -33,62 +46,78 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        String authHeader = request.getHeader("Authorization");
-
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                username, null,
-                                List.of(new SimpleGrantedAuthority("ROLE_USER"))
-                        );
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.warn("JwtAuthenticationFilter: Authenticated user: {}", username);
-
-
-                HttpServletRequest wrappedRequest = new HttpServletRequestWrapper(request) {
-                    private final Map<String, String> customHeaders = new HashMap<>();
-                    {
-                        customHeaders.put("X-Auth-User", username);
-                        customHeaders.put("X-Auth-Role", "ROLE_USER");
-                    }
-
-                    @Override
-                    public String getHeader(String name) {
-                        if (customHeaders.containsKey(name)) {
-                            return customHeaders.get(name);
-                        }
-                        return super.getHeader(name);
-                    }
-
-                    @Override
-                    public Enumeration<String> getHeaders(String name) {
-                        if (customHeaders.containsKey(name)) {
-                            return Collections.enumeration(Collections.singletonList(customHeaders.get(name)));
-                        }
-                        return super.getHeaders(name);
-                    }
-
-                    @Override
-                    public Enumeration<String> getHeaderNames() {
-                        Set<String> headerNames = new HashSet<>(Collections.list(super.getHeaderNames()));
-                        headerNames.addAll(customHeaders.keySet());
-                        return Collections.enumeration(headerNames);
-                    }
-                };
-                filterChain.doFilter(wrappedRequest, response);
-                return;
+        Map<String, String> trustedHeaders = new HashMap<>();
+
+        JwtUtil.VerifiedToken verified = jwtUtil.verifyBearer(request);
+        if (verified != null) {
+            String username = verified.username();
+            // Tokens issued before the role was used keep the old generic role
+            String role = verified.role() != null ? "ROLE_" + verified.role().toUpperCase(Locale.ROOT) : "ROLE_USER";
+
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            username, null,
+                            List.of(new SimpleGrantedAuthority(role))
+                    );
+            authentication.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.warn("JwtAuthenticationFilter: Authenticated user: {}", username);
+
+            trustedHeaders.put(AUTH_USER_HEADER, username);
+            trustedHeaders.put(AUTH_ROLE_HEADER, role);
+            if (verified.userId() != null) {
+                trustedHeaders.put(AUTH_USER_ID_HEADER, String.valueOf(verified.userId()));
+            }
+        }
+
+        filterChain.doFilter(new TrustedHeadersRequest(request, trustedHeaders), response);
+    }
+
+    /**
+     * Replaces every {@code X-Auth-*} header of the incoming request with the ones set by this filter.
+     */
+    private static final class TrustedHeadersRequest extends HttpServletRequestWrapper {
+
+        private final Map<String, String> trustedHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        TrustedHeadersRequest(HttpServletRequest request, Map<String, String> trustedHeaders) {
+            super(request);
+            this.trustedHeaders.putAll(trustedHeaders);
+        }
+
+        private static boolean isTrusted(String name) {
+            return name.toLowerCase(Locale.ROOT).startsWith(TRUSTED_HEADER_PREFIX);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isTrusted(name)) {
+                return trustedHeaders.get(name);
             }
+            return super.getHeader(name);
         }
 
-        filterChain.doFilter(request, response);
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isTrusted(name)) {
+                String value = trustedHeaders.get(name);
+                return Collections.enumeration(value == null ? List.of() : List.of(value));
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            Set<String> headerNames = new LinkedHashSet<>();
+            for (String name : Collections.list(super.getHeaderNames())) {
+                if (!isTrusted(name)) {
+                    headerNames.add(name);
+                }
+            }
+            headerNames.addAll(trustedHeaders.keySet());
+            return Collections.enumeration(headerNames);
+        }
     }
 }
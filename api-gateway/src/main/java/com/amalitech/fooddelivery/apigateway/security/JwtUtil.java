@@ -1,57 +1,141 @@
 package com.amalitech.fooddelivery.apigateway.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
+/**
+ * Issues and verifies the gateway's JWTs.
+ *
+ * The signing key and parser are built once. Verified tokens are cached by SHA-256 digest (never the raw
+ * token) until their {@code exp}, so a client sending the same token on every request is parsed and
+ * HMAC-verified once; the cache is bounded by {@code app.jwt.verified-cache-size}.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String secret;
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
 
-    @Value("${app.jwt.expiration-ms}")
-    private long expirationMs;
+    private static final String VERIFIED_TOKEN_ATTRIBUTE = JwtUtil.class.getName() + ".verified";
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMs;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Caller identity taken from a verified token.
+     *
+     * @param userId customer id, null for tokens issued before the {@code uid} claim
+     * @param role   role claim, null for tokens issued without one
+     */
+    public record VerifiedToken(String username, Long userId, String role, long expiresAtMillis) {
+    }
+
+    public JwtUtil(@Value("${app.jwt.secret}") String secret,
+                   @Value("${app.jwt.expiration-ms}") long expirationMs,
+                   @Value("${app.jwt.verified-cache-size:100000}") long verifiedCacheSize,
+                   MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expirationMs = expirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.<String, VerifiedToken>creating((digest, token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
     }
 
-    public String generateToken(String username, String role) {
+    /**
+     * Besides the username (subject) the token carries the customer id and role, which the gateway forwards
+     * as trusted headers so services don't have to look the user up.
+     */
+    public String generateToken(Long customerId, String username, String role) {
         return Jwts.builder()
                 .subject(username)
-                .claim("role", role)
+                .claim(USER_ID_CLAIM, customerId)
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
+    /**
+     * Parses and verifies {@code token} once, or answers from the cache of recently verified tokens.
+     *
+     * @return the caller, or null when the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            // Expiry runs lazily; never honour a token past its exp
+            return cached.expiresAtMillis() > System.currentTimeMillis() ? cached : null;
+        }
 
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            extractClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                userId == null ? null : userId.longValue(),
+                claims.get(ROLE_CLAIM, String.class),
+                expiration == null ? System.currentTimeMillis() + expirationMs : expiration.getTime());
+        verifiedTokens.put(digest, verified);
+        return verified;
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the request's Bearer token, once per request: the result is kept as a request attribute
+     * so the rate limiter and the authentication filter share it.
+     *
+     * @return the caller, or null without a valid Bearer token
+     */
+    public VerifiedToken verifyBearer(HttpServletRequest request) {
+        Object known = request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE);
+        if (known != null) {
+            return known instanceof VerifiedToken verified ? verified : null;
+        }
+        String authHeader = request.getHeader("Authorization");
+        VerifiedToken verified = authHeader != null && authHeader.startsWith("Bearer ")
+                ? verify(authHeader.substring(7))
+                : null;
+        request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified != null ? verified : Boolean.FALSE);
+        return verified;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,133 @@
+package com.amalitech.fooddelivery.apigateway.security;
+
+import com.amalitech.fooddelivery.apigateway.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of the servlet threads that also proxy traffic.
+ *
+ * The pool has {@code app.auth.bcrypt.threads} workers and a queue of {@code queue-capacity}; when both are
+ * full a login or registration is rejected at once with {@link ServerBusyException}, so a burst of logins
+ * (or credential stuffing) ties up at most threads + queue servlet threads. A caller waits at most
+ * {@code max-wait} for its hash. Metrics: {@code executor.*{name="bcrypt"}} (queue depth, active workers,
+ * rejections) and {@code auth.bcrypt.hash{operation}}.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final Duration maxWait;
+  private final Timer verifyTimer;
+  private final Timer encodeTimer;
+  private final Counter rejected;
+
+  public PasswordHasher(PasswordEncoder passwordEncoder,
+                        @Value("${app.auth.bcrypt.threads:0}") int threads,
+                        @Value("${app.auth.bcrypt.queue-capacity:32}") int queueCapacity,
+                        @Value("${app.auth.bcrypt.max-wait:PT5S}") Duration maxWait,
+                        MeterRegistry meterRegistry) {
+    this.passwordEncoder = passwordEncoder;
+    this.maxWait = maxWait;
+    // Default: half the cores, leaving the rest for routing
+    int workers = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.executor = pool;
+    ExecutorServiceMetrics.monitor(meterRegistry, pool, "bcrypt");
+    this.verifyTimer = hashTimer(meterRegistry, "verify");
+    this.encodeTimer = hashTimer(meterRegistry, "encode");
+    this.rejected = Counter.builder("auth.bcrypt.rejected")
+            .description("Password hashes rejected because the BCrypt pool was saturated")
+            .register(meterRegistry);
+  }
+
+  public boolean matches(String rawPassword, String encodedPassword) {
+    return run(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  public String encode(String rawPassword) {
+    return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+  }
+
+  /**
+   * True when {@code encodedPassword} was hashed with a lower cost than the configured one.
+   */
+  public boolean needsRehash(String encodedPassword) {
+    try {
+      return passwordEncoder.upgradeEncoding(encodedPassword);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Hashes {@code rawPassword} with the current cost in the background and hands the result to
+   * {@code onHashed}. Best effort: skipped when the pool is busy, the next login will try again.
+   */
+  public void rehashAsync(String rawPassword, Consumer<String> onHashed) {
+    try {
+      executor.execute(() -> onHashed.accept(encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    } catch (RejectedExecutionException e) {
+      log.debug("BCrypt pool busy, skipping rehash");
+    }
+  }
+
+  private <T> T run(Timer timer, Supplier<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.record(task));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServerBusyException("Too many sign-ins in progress. Please try again shortly.");
+    }
+    try {
+      return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new ServerBusyException("Too many sign-ins in progress. Please try again shortly.");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServerBusyException("Sign-in was interrupted. Please try again.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder("auth.bcrypt.hash")
+            .description("Time spent in BCrypt")
+            .tag("operation", operation)
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void destroy() {
+    List<Runnable> pending = executor.shutdownNow();
+    if (!pending.isEmpty()) {
+      log.debug("Dropped {} queued password hashes on shutdown", pending.size());
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.amalitech.fooddelivery.apigateway.security;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gateway quotas ({@code app.rate-limit}). {@code capacity} / {@code refillPeriod} is the default quota;
+ * {@code routes} override it for matching paths, first match wins. Validated at startup, so a zero capacity
+ * or a missing or zero refill period fails the boot instead of the first request.
+ *
+ * @param shared when true the quotas are cluster-wide and each gateway instance enforces its share
+ */
+@Validated
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("2") @Positive int capacity,
+        @DefaultValue("PT10S") @NotNull @DurationMin(millis = 1) Duration refillPeriod,
+        @DefaultValue("false") boolean shared,
+        @DefaultValue List<@Valid Route> routes) {
+
+  /**
+   * @param path Spring path pattern, e.g. {@code /api/restaurants/search/**}
+   */
+  public record Route(@NotBlank String name, @NotBlank String path, @Positive int capacity,
+                      @NotNull @DurationMin(millis = 1) Duration refillPeriod) {
+  }
+}
@@ -0,0 +1,148 @@
+package com.amalitech.fooddelivery.apigateway.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiered gateway quotas: per route, per caller.
+ *
+ * The caller is the JWT subject when the request carries a valid token (so users behind one NAT don't
+ * share a quota and a user rotating IPs keeps theirs), otherwise the client IP. Each route in
+ * {@code app.rate-limit.routes} has its own quota and buckets; other paths use the default quota.
+ * Requests over a quota are rejected at once with 429 and {@code Retry-After}; no thread waits for a permit.
+ *
+ * In shared mode the configured quotas are cluster-wide: each gateway instance enforces
+ * {@code capacity / live instances} (from service discovery), so the cluster as a whole allows roughly
+ * the configured rate without a round trip to a shared store on every request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // runs before all other filters — truly global
+public class RateLimiterFilter implements Filter {
+
+  private static final Logger log = LoggerFactory.getLogger(RateLimiterFilter.class);
+  private static final String DEFAULT_ROUTE = "default";
+  private static final long INSTANCE_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private final TokenBucketStore tokenBucketStore;
+  private final ClientIpResolver clientIpResolver;
+  private final JwtUtil jwtUtil;
+  private final DiscoveryClient discoveryClient;
+  private final boolean shared;
+  private final Quota defaultQuota;
+  private final List<Quota> routeQuotas = new ArrayList<>();
+
+  @Value("${spring.application.name}")
+  private String applicationName;
+
+  private volatile int liveInstances = 1;
+  private volatile long instancesCheckedAt = System.nanoTime() - INSTANCE_REFRESH_NANOS;
+
+  private record Quota(String name, PathPattern pattern, int capacity, Duration refillPeriod, Counter rejected) {
+  }
+
+  public RateLimiterFilter(TokenBucketStore tokenBucketStore, ClientIpResolver clientIpResolver, JwtUtil jwtUtil,
+                           DiscoveryClient discoveryClient, RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+    this.tokenBucketStore = tokenBucketStore;
+    this.clientIpResolver = clientIpResolver;
+    this.jwtUtil = jwtUtil;
+    this.discoveryClient = discoveryClient;
+    this.shared = properties.shared();
+    this.defaultQuota = new Quota(DEFAULT_ROUTE, null, properties.capacity(), properties.refillPeriod(),
+            rejectedCounter(meterRegistry, DEFAULT_ROUTE));
+    PathPatternParser parser = new PathPatternParser();
+    for (RateLimitProperties.Route route : properties.routes()) {
+      routeQuotas.add(new Quota(route.name(), parser.parse(route.path()), route.capacity(), route.refillPeriod(),
+              rejectedCounter(meterRegistry, route.name())));
+    }
+  }
+
+
+  @Override
+  public void doFilter(ServletRequest servletRequest,
+                       ServletResponse servletResponse,
+                       FilterChain chain) throws IOException, ServletException {
+
+    HttpServletRequest request   = (HttpServletRequest) servletRequest;
+    HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+    Quota quota = quotaFor(request);
+    JwtUtil.VerifiedToken caller = jwtUtil.verifyBearer(request);
+    String key = caller != null
+            ? quota.name() + "|u:" + caller.username()
+            : quota.name() + "|ip:" + clientIpResolver.resolve(request);
+
+    long waitNanos = tokenBucketStore.tryAcquire(key, effectiveCapacity(quota), quota.refillPeriod());
+    if (waitNanos == 0) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    quota.rejected().increment();
+    log.debug("Rate limit {} exceeded for {}", quota.name(), key);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER,
+            String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+    response.setContentType("application/json");
+    response.getWriter().write("""
+                    {"error": "Too Many Requests", "message": "Rate limit exceeded. Please slow down."}
+                    """);
+  }
+
+  private Quota quotaFor(HttpServletRequest request) {
+    if (routeQuotas.isEmpty()) {
+      return defaultQuota;
+    }
+    PathContainer path = PathContainer.parsePath(request.getRequestURI());
+    for (Quota quota : routeQuotas) {
+      if (quota.pattern().matches(path)) {
+        return quota;
+      }
+    }
+    return defaultQuota;
+  }
+
+  private int effectiveCapacity(Quota quota) {
+    if (!shared) {
+      return quota.capacity();
+    }
+    long now = System.nanoTime();
+    if (now - instancesCheckedAt > INSTANCE_REFRESH_NANOS) {
+      instancesCheckedAt = now;
+      try {
+        liveInstances = Math.max(1, discoveryClient.getInstances(applicationName).size());
+      } catch (RuntimeException e) {
+        log.warn("Could not count gateway instances, keeping {}: {}", liveInstances, e.getMessage());
+      }
+    }
+    return Math.max(1, (quota.capacity() + liveInstances - 1) / liveInstances);
+  }
+
+  private static Counter rejectedCounter(MeterRegistry meterRegistry, String route) {
+    return Counter.builder("gateway.ratelimit.rejected")
+            .description("Requests rejected by the gateway rate limiter")
+            .tag("route", route)
+            .register(meterRegistry);
+  }
+}
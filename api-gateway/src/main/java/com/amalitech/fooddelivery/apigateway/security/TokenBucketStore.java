@@ -0,0 +1,68 @@
+package com.amalitech.fooddelivery.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free token buckets keyed by client.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the GCRA form of a token
+ * bucket): a request is allowed when that time is no further ahead of now than the burst allows, and is
+ * taken with one CAS. Nothing blocks, so a rejected caller is answered immediately. Buckets live in a
+ * size-bounded cache and expire once idle for {@code idle-expiry}, raised to the longest configured refill
+ * period: a bucket idle that long is full again anyway, so expiry loses nothing.
+ * Under a flood of distinct keys the least useful buckets are evicted instead of growing the heap.
+ */
+@Component
+public class TokenBucketStore {
+
+  // Relative clock, so arrival times are never negative
+  private final long origin = System.nanoTime();
+
+  private final Cache<String, AtomicLong> buckets;
+
+  public TokenBucketStore(@Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+                          @Value("${app.rate-limit.idle-expiry:PT1M}") Duration idleExpiry,
+                          RateLimitProperties properties,
+                          MeterRegistry meterRegistry) {
+    Duration longestRefill = properties.routes().stream()
+            .map(RateLimitProperties.Route::refillPeriod)
+            .reduce(properties.refillPeriod(), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+    this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(idleExpiry.compareTo(longestRefill) >= 0 ? idleExpiry : longestRefill)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, buckets, "ratelimit.buckets");
+  }
+
+  /**
+   * Takes one token from {@code key}'s bucket, which holds up to {@code capacity} tokens and refills
+   * {@code capacity} tokens every {@code refillPeriod}.
+   *
+   * @return 0 when allowed, otherwise the nanoseconds until a token becomes available
+   */
+  public long tryAcquire(String key, int capacity, Duration refillPeriod) {
+    long interval = refillPeriod.toNanos() / capacity;
+    long burstTolerance = interval * (capacity - 1);
+    AtomicLong arrival = buckets.get(key, k -> new AtomicLong());
+    while (true) {
+      long now = System.nanoTime() - origin;
+      long current = arrival.get();
+      long start = Math.max(current, now);
+      if (start - now > burstTolerance) {
+        return start - now - burstTolerance;
+      }
+      if (arrival.compareAndSet(current, start + interval)) {
+        return 0;
+      }
+    }
+  }
+}
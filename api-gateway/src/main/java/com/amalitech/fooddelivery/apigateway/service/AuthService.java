@@ -1,34 +1,45 @@
 package com.amalitech.fooddelivery.apigateway.service;
 
 import com.amalitech.fooddelivery.apigateway.client.CustomerInterface;
+import com.amalitech.fooddelivery.apigateway.config.RabbitMQConfig;
 import com.amalitech.fooddelivery.apigateway.dto.AuthRequest;
 import com.amalitech.fooddelivery.apigateway.dto.AuthResponse;
 import com.amalitech.fooddelivery.apigateway.dto.CustomerDTO;
+import com.amalitech.fooddelivery.apigateway.dto.PasswordRehashedEvent;
+import com.amalitech.fooddelivery.apigateway.dto.RefreshRequest;
 import com.amalitech.fooddelivery.apigateway.dto.RegisterRequest;
+import com.amalitech.fooddelivery.apigateway.exception.ServerBusyException;
 import com.amalitech.fooddelivery.apigateway.exception.ServiceUnavailableException;
 import com.amalitech.fooddelivery.apigateway.exception.UnauthorizedException;
 import com.amalitech.fooddelivery.apigateway.security.JwtUtil;
+import com.amalitech.fooddelivery.apigateway.security.PasswordHasher;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class AuthService {
+  private static final String PASSWORD_REHASHED = "customer.password.rehashed";
+
   private final CustomerInterface customerService;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHasher passwordHasher;
   private final JwtUtil jwtUtil;
+  private final RefreshTokenService refreshTokenService;
+  private final RabbitTemplate rabbitTemplate;
 
     @CircuitBreaker(name = "customerService", fallbackMethod = "registerFallback")
     public AuthResponse register(RegisterRequest request) {
+        // The Customer Service stores the password as given, so it is hashed here
+        request.setPassword(passwordHasher.encode(request.getPassword()));
+
         // Call the customer service to create a new customer
         CustomerDTO customer = customerService.register(request);
 
-        String token = jwtUtil.generateToken(customer.getUsername(), customer.getRole());
-        return new AuthResponse(token, customer.getId(), customer.getUsername(), customer.getRole());
+        return issueTokens(customer);
     }
 
     @CircuitBreaker(name = "customerService", fallbackMethod = "loginFallback")
@@ -36,21 +47,61 @@ public class AuthService {
       // Call the customer service to get the customer by username
         CustomerDTO customer = customerService.getByUsername(request.getUsername());
 
-        if (!passwordEncoder.matches(request.getPassword(), customer.getPassword())) {
+        // BCrypt runs on its own bounded pool, never on the thread that could be proxying
+        if (!passwordHasher.matches(request.getPassword(), customer.getPassword())) {
             throw new UnauthorizedException("Invalid credentials");
         }
+        if (passwordHasher.needsRehash(customer.getPassword())) {
+            passwordHasher.rehashAsync(request.getPassword(), newHash -> publishRehash(customer, newHash));
+        }
+
+        return issueTokens(customer);
+    }
+
+    /**
+     * Renews an expired access token from the claims of the refresh token: no password check and no Customer
+     * Service call. The refresh token is rotated, the one presented can't be used again.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Session session = refreshTokenService.rotate(request.getRefreshToken());
+        String token = jwtUtil.generateToken(session.customerId(), session.username(), session.role());
+        return new AuthResponse(token, session.refreshToken(), session.customerId(), session.username(), session.role());
+    }
 
-        String token = jwtUtil.generateToken(customer.getUsername(), customer.getRole());
-        return new AuthResponse(token, customer.getId(), customer.getUsername(), customer.getRole());
+    public void logout(RefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+
+    private AuthResponse issueTokens(CustomerDTO customer) {
+        String token = jwtUtil.generateToken(customer.getId(), customer.getUsername(), customer.getRole());
+        String refreshToken = refreshTokenService.issue(customer.getId(), customer.getUsername(), customer.getRole());
+        return new AuthResponse(token, refreshToken, customer.getId(), customer.getUsername(), customer.getRole());
+    }
+
+    private void publishRehash(CustomerDTO customer, String newHash) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.APP_EXCHANGE, PASSWORD_REHASHED,
+                    new PasswordRehashedEvent(customer.getId(), customer.getPassword(), newHash));
+        } catch (Exception e) {
+            log.warn("Failed to publish rehashed password for customer {}. It is retried on the next login. Cause: {}",
+                    customer.getId(), e.getMessage());
+        }
     }
 
     private AuthResponse registerFallback(RegisterRequest request, Throwable t) {
+        if (t instanceof ServerBusyException busy) {
+            throw busy;
+        }
         log.error("Circuit breaker triggered for registration. Customer Service is unavailable. User: {}, Cause: {}",
                 request.getUsername(), t.getMessage());
         throw new ServiceUnavailableException("Registration is temporarily unavailable. Please try again later.");
     }
 
     private AuthResponse loginFallback(AuthRequest request, Throwable t) {
+        // Our own rejections are not Customer Service outages
+        if (t instanceof ServerBusyException || t instanceof UnauthorizedException) {
+            throw (RuntimeException) t;
+        }
         log.error("Circuit breaker triggered for login. Customer Service is unavailable. User: {}, Cause: {}",
                 request.getUsername(), t.getMessage());
         throw new ServiceUnavailableException("Login is temporarily unavailable. Please try again later.");
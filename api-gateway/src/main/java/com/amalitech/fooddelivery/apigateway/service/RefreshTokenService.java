@@ -0,0 +1,198 @@
+package com.amalitech.fooddelivery.apigateway.service;
+
+import com.amalitech.fooddelivery.apigateway.config.AuthQueueConfig;
+import com.amalitech.fooddelivery.apigateway.config.RabbitMQConfig;
+import com.amalitech.fooddelivery.apigateway.dto.RefreshFamilyEvent;
+import com.amalitech.fooddelivery.apigateway.exception.UnauthorizedException;
+import com.amalitech.fooddelivery.apigateway.security.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Rotating, revocable refresh tokens, so an expired access token is renewed without BCrypt or a
+ * Customer Service lookup.
+ *
+ * A refresh token is a JWT signed with its own key ({@code app.jwt.refresh-secret}, so it is never accepted as
+ * an access token) carrying the caller plus a token family and generation. The gateway keeps only the current
+ * generation per family: each refresh moves it forward and returns the next token, logout revokes the family,
+ * and presenting an older generation (a replayed, possibly stolen token) revokes the whole family. Families
+ * are replicated to every gateway instance over RabbitMQ; a newer generation than this instance knows was
+ * rotated elsewhere before the update arrived and is accepted. A family this instance doesn't know (evicted, or
+ * issued before a restart) is rejected and the client logs in again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String FAMILY_CLAIM = "fid";
+    private static final String GENERATION_CLAIM = "gen";
+    static final long REVOKED = -1L;
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMs;
+    private final Cache<String, Long> families;
+    private final RabbitTemplate rabbitTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Caller carried by a refresh token, with the token that replaces it.
+     */
+    public record Session(Long customerId, String username, String role, String refreshToken) {
+    }
+
+    public RefreshTokenService(@Value("${app.jwt.refresh-secret}") String secret,
+                               @Value("${app.jwt.refresh-expiration-ms:1209600000}") long expirationMs,
+                               @Value("${app.jwt.refresh-max-sessions:1000000}") long maxSessions,
+                               RabbitTemplate rabbitTemplate,
+                               MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expirationMs = expirationMs;
+        this.rabbitTemplate = rabbitTemplate;
+        // One entry per live session: family id -> current generation. Writes extend it with the token's exp.
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterWrite(Duration.ofMillis(expirationMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, families, "auth.refresh.families");
+    }
+
+    /**
+     * Starts a new token family for a caller who just proved their password.
+     */
+    public String issue(Long customerId, String username, String role) {
+        String familyId = newFamilyId();
+        families.put(familyId, 0L);
+        publish(familyId, 0L);
+        return sign(customerId, username, role, familyId, 0L);
+    }
+
+    /**
+     * Accepts the current refresh token of a family once and returns the caller with the next one.
+     *
+     * @throws UnauthorizedException when the token is invalid, expired, revoked or already used
+     */
+    public Session rotate(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        String familyId = claims.get(FAMILY_CLAIM, String.class);
+        Number generation = claims.get(GENERATION_CLAIM, Number.class);
+        if (familyId == null || generation == null) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        long current = generation.longValue();
+        // A generation ahead of ours was issued by another instance whose update hasn't arrived yet: accept it
+        Long[] known = new Long[1];
+        families.asMap().computeIfPresent(familyId, (id, latest) -> {
+            known[0] = latest;
+            return latest != REVOKED && current >= latest ? current + 1 : latest;
+        });
+        Long latest = known[0];
+        if (latest == null || latest == REVOKED) {
+            throw new UnauthorizedException("Refresh token is no longer valid. Please log in again.");
+        }
+        if (current < latest) {
+            // A used token came back: either the client or a thief holds a newer one, so trust neither
+            log.warn("Refresh token reuse for user {} (generation {}, current {}), revoking the session",
+                    claims.getSubject(), current, latest);
+            revokeFamily(familyId);
+            throw new UnauthorizedException("Refresh token is no longer valid. Please log in again.");
+        }
+        publish(familyId, current + 1);
+
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        Long customerId = userId == null ? null : userId.longValue();
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        return new Session(customerId, claims.getSubject(), role,
+                sign(customerId, claims.getSubject(), role, familyId, current + 1));
+    }
+
+    /**
+     * Ends the session the token belongs to; an invalid token is ignored.
+     */
+    public void revoke(String refreshToken) {
+        try {
+            String familyId = parse(refreshToken).get(FAMILY_CLAIM, String.class);
+            if (familyId != null) {
+                revokeFamily(familyId);
+            }
+        } catch (UnauthorizedException e) {
+            log.debug("Ignoring logout with an invalid refresh token");
+        }
+    }
+
+    @RabbitListener(queues = "#{refreshTokenQueue.name}")
+    public void handleFamilyUpdated(RefreshFamilyEvent event) {
+        families.asMap().merge(event.getFamilyId(), event.getGeneration(), RefreshTokenService::latest);
+    }
+
+    private void revokeFamily(String familyId) {
+        families.put(familyId, REVOKED);
+        publish(familyId, REVOKED);
+    }
+
+    /**
+     * Revocation is final, otherwise the highest generation wins, so updates can arrive in any order.
+     */
+    static Long latest(Long known, Long received) {
+        return known == REVOKED || received == REVOKED ? REVOKED : Math.max(known, received);
+    }
+
+    private Claims parse(String refreshToken) {
+        try {
+            return parser.parseSignedClaims(refreshToken).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+    }
+
+    private String sign(Long customerId, String username, String role, String familyId, long generation) {
+        return Jwts.builder()
+                .subject(username)
+                .claim(JwtUtil.USER_ID_CLAIM, customerId)
+                .claim(JwtUtil.ROLE_CLAIM, role)
+                .claim(FAMILY_CLAIM, familyId)
+                .claim(GENERATION_CLAIM, generation)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expirationMs))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    private String newFamilyId() {
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+
+    private void publish(String familyId, long generation) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.APP_EXCHANGE, AuthQueueConfig.REFRESH_FAMILY_UPDATED,
+                    new RefreshFamilyEvent(familyId, generation));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast refresh token family update. Other gateway instances will reject it. Cause: {}",
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.amalitech.fooddelivery.apigateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketStoreTest {
+
+  private final TokenBucketStore store = new TokenBucketStore(1000, Duration.ofMinutes(1),
+          new RateLimitProperties(2, Duration.ofSeconds(10), false, List.of()), new SimpleMeterRegistry());
+
+  @Test
+  void allowsABurstUpToCapacityThenRejects() {
+    for (int i = 0; i < 5; i++) {
+      assertThat(store.tryAcquire("client", 5, Duration.ofHours(1))).isZero();
+    }
+    assertThat(store.tryAcquire("client", 5, Duration.ofHours(1))).isPositive();
+  }
+
+  @Test
+  void reportsTheWaitUntilTheNextToken() {
+    Duration refillPeriod = Duration.ofMinutes(10);
+    store.tryAcquire("client", 2, refillPeriod);
+    store.tryAcquire("client", 2, refillPeriod);
+
+    long waitNanos = store.tryAcquire("client", 2, refillPeriod);
+    // One token every refillPeriod / capacity
+    assertThat(waitNanos).isPositive().isLessThanOrEqualTo(refillPeriod.dividedBy(2).toNanos());
+  }
+
+  @Test
+  void refillsOverTime() throws InterruptedException {
+    Duration refillPeriod = Duration.ofMillis(100);
+    assertThat(store.tryAcquire("client", 1, refillPeriod)).isZero();
+    assertThat(store.tryAcquire("client", 1, refillPeriod)).isPositive();
+
+    Thread.sleep(150);
+    assertThat(store.tryAcquire("client", 1, refillPeriod)).isZero();
+  }
+
+  @Test
+  void keysHaveSeparateBuckets() {
+    assertThat(store.tryAcquire("a", 1, Duration.ofHours(1))).isZero();
+    assertThat(store.tryAcquire("a", 1, Duration.ofHours(1))).isPositive();
+    assertThat(store.tryAcquire("b", 1, Duration.ofHours(1))).isZero();
+  }
+
+  @Test
+  void concurrentCallersNeverExceedCapacity() throws InterruptedException {
+    int capacity = 50;
+    AtomicInteger allowed = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      for (int i = 0; i < 400; i++) {
+        pool.execute(() -> {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          if (store.tryAcquire("shared", capacity, Duration.ofHours(1)) == 0) {
+            allowed.incrementAndGet();
+          }
+        });
+      }
+      start.countDown();
+    } finally {
+      pool.shutdown();
+      assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+    assertThat(allowed).hasValue(capacity);
+  }
+}
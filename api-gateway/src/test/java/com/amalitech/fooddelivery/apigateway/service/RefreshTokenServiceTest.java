@@ -0,0 +1,118 @@
+package com.amalitech.fooddelivery.apigateway.service;
+
+import com.amalitech.fooddelivery.apigateway.dto.RefreshFamilyEvent;
+import com.amalitech.fooddelivery.apigateway.exception.UnauthorizedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+
+import static com.amalitech.fooddelivery.apigateway.service.RefreshTokenService.REVOKED;
+import static com.amalitech.fooddelivery.apigateway.service.RefreshTokenService.latest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RefreshTokenServiceTest {
+
+  private static final String SECRET = "test-refresh-secret-at-least-32-bytes-long";
+
+  private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+  private final RefreshTokenService service = newInstance(rabbitTemplate);
+
+  @Test
+  void rotateReturnsTheNextTokenOnce() {
+    String first = service.issue(1L, "alice", "CUSTOMER");
+
+    RefreshTokenService.Session session = service.rotate(first);
+
+    assertThat(session.customerId()).isEqualTo(1L);
+    assertThat(session.username()).isEqualTo("alice");
+    assertThat(session.role()).isEqualTo("CUSTOMER");
+    assertThat(service.rotate(session.refreshToken()).refreshToken()).isNotBlank();
+  }
+
+  @Test
+  void reusedTokenRevokesTheFamily() {
+    String first = service.issue(1L, "alice", "CUSTOMER");
+    String second = service.rotate(first).refreshToken();
+
+    assertThatThrownBy(() -> service.rotate(first)).isInstanceOf(UnauthorizedException.class);
+    // The newer token is lost as well: client and thief can no longer be told apart
+    assertThatThrownBy(() -> service.rotate(second)).isInstanceOf(UnauthorizedException.class);
+    assertThat(published()).last().extracting(RefreshFamilyEvent::getGeneration).isEqualTo(REVOKED);
+  }
+
+  @Test
+  void generationRotatedOnAnotherInstanceIsAccepted() {
+    RefreshTokenService other = newInstance(mock(RabbitTemplate.class));
+    String first = service.issue(1L, "alice", "CUSTOMER");
+    published().forEach(other::handleFamilyUpdated);
+
+    // Rotated here, but the update never reaches the other instance before the client moves there
+    String second = service.rotate(first).refreshToken();
+
+    assertThat(other.rotate(second).refreshToken()).isNotBlank();
+  }
+
+  @Test
+  void revokedFamilyCannotRotate() {
+    String first = service.issue(1L, "alice", "CUSTOMER");
+
+    service.revoke(first);
+
+    assertThatThrownBy(() -> service.rotate(first)).isInstanceOf(UnauthorizedException.class);
+  }
+
+  @Test
+  void revocationFromAnotherInstanceIsHonoured() {
+    String first = service.issue(1L, "alice", "CUSTOMER");
+    String familyId = published().getFirst().getFamilyId();
+
+    service.handleFamilyUpdated(new RefreshFamilyEvent(familyId, REVOKED));
+
+    assertThatThrownBy(() -> service.rotate(first)).isInstanceOf(UnauthorizedException.class);
+  }
+
+  @Test
+  void unknownFamilyIsRejected() {
+    String token = newInstance(mock(RabbitTemplate.class)).issue(1L, "alice", "CUSTOMER");
+
+    assertThatThrownBy(() -> service.rotate(token)).isInstanceOf(UnauthorizedException.class);
+  }
+
+  @Test
+  void highestGenerationWinsInEitherOrder() {
+    assertThat(latest(3L, 5L)).isEqualTo(5L);
+    assertThat(latest(5L, 3L)).isEqualTo(5L);
+    assertThat(latest(4L, 4L)).isEqualTo(4L);
+  }
+
+  @Test
+  void revocationIsFinal() {
+    assertThat(latest(REVOKED, 7L)).isEqualTo(REVOKED);
+    assertThat(latest(7L, REVOKED)).isEqualTo(REVOKED);
+    assertThat(latest(REVOKED, REVOKED)).isEqualTo(REVOKED);
+  }
+
+  @Test
+  void revocationBeatsTheFirstGeneration() {
+    // Generation 0 is a fresh login; a revocation broadcast must not lose to it
+    assertThat(latest(0L, REVOKED)).isEqualTo(REVOKED);
+  }
+
+  private List<RefreshFamilyEvent> published() {
+    ArgumentCaptor<RefreshFamilyEvent> events = ArgumentCaptor.forClass(RefreshFamilyEvent.class);
+    verify(rabbitTemplate, atLeastOnce()).convertAndSend(anyString(), anyString(), events.capture());
+    return events.getAllValues();
+  }
+
+  private static RefreshTokenService newInstance(RabbitTemplate rabbitTemplate) {
+    return new RefreshTokenService(SECRET, 60_000, 1000, rabbitTemplate, new SimpleMeterRegistry());
+  }
+}
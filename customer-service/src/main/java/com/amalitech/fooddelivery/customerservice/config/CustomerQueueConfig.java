@@ -0,0 +1,64 @@
+package com.amalitech.fooddelivery.customerservice.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CustomerQueueConfig {
+
+  public static final String ORDER_QUEUE = "customer.order.queue";
+  public static final String RESTAURANT_QUEUE = "customer.restaurant.queue";
+  public static final String PASSWORD_QUEUE = "customer.password.queue";
+
+  /**
+   * Durable, shared by all replicas: each placed order is recorded once in customer_orders.
+   */
+  @Bean
+  public Queue customerOrderQueue() {
+    return new Queue(ORDER_QUEUE, true);
+  }
+
+  @Bean
+  public Binding customerOrderBinding(Queue customerOrderQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(customerOrderQueue)
+            .to(exchange)
+            .with("order.placed");
+  }
+
+  /**
+   * Durable, shared by all replicas: owners are promoted even if the Customer Service was down at creation.
+   */
+  @Bean
+  public Queue customerRestaurantQueue() {
+    return new Queue(RESTAURANT_QUEUE, true);
+  }
+
+  @Bean
+  public Binding customerRestaurantBinding(Queue customerRestaurantQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(customerRestaurantQueue)
+            .to(exchange)
+            .with("restaurant.created");
+  }
+
+  /**
+   * Durable, shared by all replicas: a rehashed password is stored once, even if published while this service was down.
+   */
+  @Bean
+  public Queue customerPasswordQueue() {
+    return new Queue(PASSWORD_QUEUE, true);
+  }
+
+  @Bean
+  public Binding customerPasswordBinding(Queue customerPasswordQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(customerPasswordQueue)
+            .to(exchange)
+            .with("customer.password.rehashed");
+  }
+}
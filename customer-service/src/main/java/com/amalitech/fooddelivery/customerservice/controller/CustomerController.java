@@ -11,6 +11,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/customers")
@@ -38,6 +41,11 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getById(id));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<CustomerResponse>> getByIds(@RequestBody Set<Long> ids) {
+        return ResponseEntity.ok(customerService.getByIds(ids));
+    }
+
     @GetMapping("/username/{username}")
     public ResponseEntity<CustomerEntity> getByUsername(@PathVariable String username) {
         return ResponseEntity.ok(customerService.findEntityByUsername(username));
@@ -17,7 +17,7 @@ public class CustomerResponse {
     private String city;
     private String role;
     private LocalDateTime createdAt;
-    private int orderCount;
+    private long orderCount;
 
     public static CustomerResponse fromEntity(CustomerEntity c) {
         CustomerResponse dto = new CustomerResponse();
@@ -31,8 +31,15 @@ public class CustomerResponse {
         dto.setCity(c.getCity());
         dto.setRole(c.getRole().name());
         dto.setCreatedAt(c.getCreatedAt());
-        // MONOLITH: direct traversal of cross-domain relationship
-        dto.setOrderCount(c.getOrderIds() != null ? c.getOrderIds().size() : 0);
+        return dto;
+    }
+
+    /**
+     * Responses that carry the number of orders placed, counted from customer_orders.
+     */
+    public static CustomerResponse fromEntity(CustomerEntity c, long orderCount) {
+        CustomerResponse dto = fromEntity(c);
+        dto.setOrderCount(orderCount);
         return dto;
     }
 }
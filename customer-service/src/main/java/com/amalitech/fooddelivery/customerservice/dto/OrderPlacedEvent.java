@@ -0,0 +1,20 @@
+package com.amalitech.fooddelivery.customerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Received from the Order Service via RabbitMQ when an order is placed (the fields of its OrderResponse we need).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderPlacedEvent {
+    private Long id;
+    private Long customerId;
+    private Long restaurantId;
+    private LocalDateTime createdAt;
+}
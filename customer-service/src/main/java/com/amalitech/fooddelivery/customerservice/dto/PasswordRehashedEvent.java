@@ -0,0 +1,17 @@
+package com.amalitech.fooddelivery.customerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Received from the API Gateway via RabbitMQ when a login found a password hashed with an outdated cost.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordRehashedEvent {
+    private Long customerId;
+    private String previousHash;
+    private String newHash;
+}
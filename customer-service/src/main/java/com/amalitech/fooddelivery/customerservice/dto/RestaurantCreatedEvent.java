@@ -0,0 +1,16 @@
+package com.amalitech.fooddelivery.customerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Received from the Restaurant Service via RabbitMQ when a restaurant is created.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantCreatedEvent {
+    private Long restaurantId;
+    private Long ownerId;
+}
@@ -4,8 +4,6 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Customer entity — part of the Customer domain.
@@ -55,8 +53,7 @@ public class CustomerEntity {
 
   private LocalDateTime updatedAt;
 
-  // External dependecy on Order Service - store orderIds instead of @OneToMany
-  private List<Long> orderIds = new ArrayList<>();
+  // Orders placed by this customer live in customer_orders (CustomerOrderEntity), not on this row
 
   @PrePersist
   protected void onCreate() {
@@ -0,0 +1,31 @@
+package com.amalitech.fooddelivery.customerservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order placed by a customer, recorded from {@code order.placed} events. Kept off CustomerEntity so
+ * profile reads and writes do not drag an ever-growing id list along; counted per customer on demand.
+ */
+@Entity
+@Immutable
+@Table(name = "customer_orders",
+        indexes = @Index(name = "idx_customer_orders_customer", columnList = "customer_id"))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderEntity {
+
+  // Order Service id; as the key it makes event redelivery a no-op
+  @Id
+  private Long orderId;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  private LocalDateTime placedAt;
+}
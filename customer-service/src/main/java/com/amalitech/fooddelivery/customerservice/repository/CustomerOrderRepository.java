@@ -0,0 +1,26 @@
+package com.amalitech.fooddelivery.customerservice.repository;
+
+import com.amalitech.fooddelivery.customerservice.entity.CustomerOrderEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CustomerOrderRepository extends JpaRepository<CustomerOrderEntity, Long> {
+    long countByCustomerId(Long customerId);
+
+    /**
+     * Orders per customer for a batch; customers without orders have no row.
+     */
+    @Query("select o.customerId as customerId, count(o) as orderCount from CustomerOrderEntity o "
+            + "where o.customerId in :customerIds group by o.customerId")
+    List<OrderCount> countByCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+
+    interface OrderCount {
+        Long getCustomerId();
+
+        long getOrderCount();
+    }
+}
@@ -22,6 +22,15 @@ import java.util.stream.Stream;
 @Component
 public class SecurityContextFilter extends OncePerRequestFilter {
 
+  public static final String USER_ID_HEADER = "X-Auth-User-Id";
+
+  /**
+   * Customer id the gateway forwarded for the caller, or null when the token predates the id claim.
+   */
+  public static Long userId(Authentication auth) {
+    return auth != null && auth.getDetails() instanceof Long id ? id : null;
+  }
+
   @Override
   protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
           throws ServletException, IOException {
@@ -30,9 +39,18 @@ public class SecurityContextFilter extends OncePerRequestFilter {
 
     if (username != null) {
       List<SimpleGrantedAuthority> authority = request.getHeader("X-Auth-Role") == null ?  Collections.emptyList() : Stream.of(request.getHeader("X-Auth-Role").split(",")).map(SimpleGrantedAuthority::new).toList();
-      Authentication auth = new UsernamePasswordAuthenticationToken(username, null, authority);
+      UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(username, null, authority);
+      auth.setDetails(parseUserId(request.getHeader(USER_ID_HEADER)));
       SecurityContextHolder.getContext().setAuthentication(auth);
     }
     filterChain.doFilter(request, response);
   }
-}
\ No newline at end of file
+
+  private static Long parseUserId(String header) {
+    try {
+      return header == null ? null : Long.valueOf(header);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.amalitech.fooddelivery.customerservice.service;
+
+import com.amalitech.fooddelivery.customerservice.config.CustomerQueueConfig;
+import com.amalitech.fooddelivery.customerservice.dto.OrderPlacedEvent;
+import com.amalitech.fooddelivery.customerservice.entity.CustomerOrderEntity;
+import com.amalitech.fooddelivery.customerservice.repository.CustomerOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records every order placed by a customer in {@code customer_orders}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerOrderListener {
+
+  private final CustomerOrderRepository customerOrderRepository;
+
+  @RabbitListener(queues = CustomerQueueConfig.ORDER_QUEUE)
+  @Transactional
+  public void handleOrderPlaced(OrderPlacedEvent event) {
+    if (event.getId() == null || event.getCustomerId() == null) {
+      log.warn("Ignoring order placed event without order or customer id: {}", event);
+      return;
+    }
+    if (customerOrderRepository.existsById(event.getId())) {
+      log.debug("Order {} already recorded, skipping", event.getId());
+      return;
+    }
+    customerOrderRepository.save(CustomerOrderEntity.builder()
+            .orderId(event.getId())
+            .customerId(event.getCustomerId())
+            .placedAt(event.getCreatedAt())
+            .build());
+  }
+}
@@ -6,20 +6,28 @@ import com.amalitech.fooddelivery.customerservice.dto.RegisterRequest;
 import com.amalitech.fooddelivery.customerservice.entity.CustomerEntity;
 import com.amalitech.fooddelivery.customerservice.exception.DuplicateResourceException;
 import com.amalitech.fooddelivery.customerservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.customerservice.repository.CustomerOrderRepository;
 import com.amalitech.fooddelivery.customerservice.repository.CustomerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final CustomerOrderRepository customerOrderRepository;
     private static final String CUSTOMER = "Customer";
     private static final String USERNAME = "username";
 
 
-    public CustomerService(CustomerRepository customerRepository ) {
+    public CustomerService(CustomerRepository customerRepository, CustomerOrderRepository customerOrderRepository) {
         this.customerRepository = customerRepository;
+        this.customerOrderRepository = customerOrderRepository;
     }
 
     @Transactional
@@ -51,14 +59,38 @@ public class CustomerService {
     public CustomerResponse getProfile(String username) {
         CustomerEntity customer = customerRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException(CUSTOMER, USERNAME, username));
-        return CustomerResponse.fromEntity(customer);
+        return CustomerResponse.fromEntity(customer, customerOrderRepository.countByCustomerId(customer.getId()));
     }
 
     @Transactional(readOnly = true)
     public CustomerResponse getById(Long id) {
         CustomerEntity customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CUSTOMER, "id", id));
-        return CustomerResponse.fromEntity(customer);
+        return CustomerResponse.fromEntity(customer, customerOrderRepository.countByCustomerId(id));
+    }
+
+    /**
+     * Batch lookup used by other services to enrich many records in one round trip.
+     * Unknown ids are silently skipped rather than failing the whole batch. Order counts come from one
+     * grouped query for the whole batch.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> getByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<CustomerEntity> customers = customerRepository.findAllById(ids);
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> orderCounts = customerOrderRepository
+                .countByCustomerIds(customers.stream().map(CustomerEntity::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(CustomerOrderRepository.OrderCount::getCustomerId,
+                        CustomerOrderRepository.OrderCount::getOrderCount));
+        return customers.stream()
+                .map(c -> CustomerResponse.fromEntity(c, orderCounts.getOrDefault(c.getId(), 0L)))
+                .toList();
     }
 
     @Transactional
@@ -72,7 +104,8 @@ public class CustomerService {
         if (request.getDeliveryAddress() != null) customer.setDeliveryAddress(request.getDeliveryAddress());
         if (request.getCity() != null) customer.setCity(request.getCity());
 
-        return CustomerResponse.fromEntity(customerRepository.save(customer));
+        return CustomerResponse.fromEntity(customerRepository.save(customer),
+                customerOrderRepository.countByCustomerId(customer.getId()));
     }
 
     @Transactional
@@ -0,0 +1,37 @@
+package com.amalitech.fooddelivery.customerservice.service;
+
+import com.amalitech.fooddelivery.customerservice.config.CustomerQueueConfig;
+import com.amalitech.fooddelivery.customerservice.dto.PasswordRehashedEvent;
+import com.amalitech.fooddelivery.customerservice.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores a password rehashed by the gateway with the current BCrypt cost. The new hash is only written while
+ * the stored one is still the hash it replaces, so a password changed in the meantime is never overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashListener {
+
+  private final CustomerRepository customerRepository;
+
+  @RabbitListener(queues = CustomerQueueConfig.PASSWORD_QUEUE)
+  @Transactional
+  public void handlePasswordRehashed(PasswordRehashedEvent event) {
+    if (event.getCustomerId() == null || event.getNewHash() == null) {
+      log.warn("Ignoring incomplete password rehash event for customer {}", event.getCustomerId());
+      return;
+    }
+    customerRepository.findById(event.getCustomerId()).ifPresent(customer -> {
+      if (customer.getPassword().equals(event.getPreviousHash())) {
+        log.debug("Upgrading password hash of customer {}", customer.getId());
+        customer.setPassword(event.getNewHash());
+      }
+    });
+  }
+}
@@ -0,0 +1,39 @@
+package com.amalitech.fooddelivery.customerservice.service;
+
+import com.amalitech.fooddelivery.customerservice.config.CustomerQueueConfig;
+import com.amalitech.fooddelivery.customerservice.dto.RestaurantCreatedEvent;
+import com.amalitech.fooddelivery.customerservice.entity.CustomerEntity;
+import com.amalitech.fooddelivery.customerservice.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Promotes a customer to RESTAURANT_OWNER when a restaurant is created for them. Only plain customers are
+ * promoted, so redelivered events and owners opening another restaurant leave the role untouched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestaurantOwnerListener {
+
+  private final CustomerRepository customerRepository;
+
+  @RabbitListener(queues = CustomerQueueConfig.RESTAURANT_QUEUE)
+  @Transactional
+  public void handleRestaurantCreated(RestaurantCreatedEvent event) {
+    if (event.getOwnerId() == null) {
+      log.warn("Ignoring restaurant created event without owner id: {}", event);
+      return;
+    }
+    customerRepository.findById(event.getOwnerId()).ifPresentOrElse(customer -> {
+      if (customer.getRole() == CustomerEntity.Role.CUSTOMER) {
+        log.info("Promoting customer {} to restaurant owner for restaurant {}",
+                customer.getUsername(), event.getRestaurantId());
+        customer.setRole(CustomerEntity.Role.RESTAURANT_OWNER);
+      }
+    }, () -> log.warn("Owner {} of restaurant {} not found", event.getOwnerId(), event.getRestaurantId()));
+  }
+}
@@ -0,0 +1,20 @@
+-- Schema as previously generated by ddl-auto: update. Existing databases are baselined at this version.
+
+create table customers (
+    id               bigint generated by default as identity primary key,
+    username         varchar(255) not null,
+    email            varchar(255) not null,
+    password         varchar(255) not null,
+    first_name       varchar(255),
+    last_name        varchar(255),
+    phone            varchar(255),
+    delivery_address varchar(255),
+    city             varchar(255),
+    role             varchar(255) not null check (role in ('CUSTOMER', 'RESTAURANT_OWNER', 'ADMIN')),
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6),
+    order_ids        bigint array,
+    constraint uk_customers_username unique (username),
+    constraint uk_customers_email unique (email),
+    constraint uk_customers_phone unique (phone)
+);
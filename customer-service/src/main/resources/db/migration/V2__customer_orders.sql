@@ -0,0 +1,16 @@
+-- Orders per customer move off the customers row into an association table maintained from order.placed events.
+
+create table customer_orders (
+    order_id    bigint primary key,
+    customer_id bigint not null,
+    placed_at   timestamp(6)
+);
+create index idx_customer_orders_customer on customer_orders (customer_id);
+
+insert into customer_orders (order_id, customer_id)
+select distinct on (o.order_id) o.order_id, c.id
+from customers c, unnest(c.order_ids) as o(order_id)
+where o.order_id is not null
+order by o.order_id, c.id;
+
+alter table customers drop column order_ids;
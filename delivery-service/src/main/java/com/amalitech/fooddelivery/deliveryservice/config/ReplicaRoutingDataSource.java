@@ -0,0 +1,135 @@
+package com.amalitech.fooddelivery.deliveryservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions of HTTP requests to the read replica; everything else uses the primary.
+ *
+ * Message listeners, schedulers and startup jobs stay on the primary because they rebuild in-memory
+ * state that must not come from a lagging replica. The replica is also skipped while its replay lag,
+ * sampled every {@code lag-check-interval}, exceeds {@code max-lag} or cannot be read. After a read-write
+ * transaction commits, its user is pinned to the primary for {@code read-your-writes-window} so their
+ * next reads see their own writes (pins are per instance).
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy, so the connection is only fetched once the
+ * transaction's read-only flag is known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  // Zero when the standby has replayed everything it received (an idle primary sends nothing to replay)
+  private static final String LAG_QUERY = """
+          select case
+                   when pg_last_wal_receive_lsn() is null
+                     or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                   else extract(epoch from now() - pg_last_xact_replay_timestamp())
+                 end""";
+
+  enum Route {
+    PRIMARY, REPLICA
+  }
+
+  private final DataSource replica;
+  private final Duration maxLag;
+  private final Duration readYourWritesWindow;
+  private final Duration lagCheckInterval;
+  private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+  private volatile boolean replicaUsable;
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                  Duration readYourWritesWindow, Duration lagCheckInterval) {
+    this.replica = replica;
+    this.maxLag = maxLag;
+    this.readYourWritesWindow = readYourWritesWindow;
+    this.lagCheckInterval = lagCheckInterval;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    super.afterPropertiesSet();
+    lagChecker.scheduleWithFixedDelay(this::checkLag, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    lagChecker.shutdownNow();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    String user = currentUser();
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            pinnedUntil.put(user, System.nanoTime() + readYourWritesWindow.toNanos());
+          }
+        });
+      }
+      return Route.PRIMARY;
+    }
+    if (!replicaUsable || RequestContextHolder.getRequestAttributes() == null || isPinned(user)) {
+      return Route.PRIMARY;
+    }
+    return Route.REPLICA;
+  }
+
+  private boolean isPinned(String user) {
+    Long until = user == null ? null : pinnedUntil.get(user);
+    return until != null && until - System.nanoTime() > 0;
+  }
+
+  private void checkLag() {
+    boolean usable;
+    try (Connection connection = replica.getConnection();
+         Statement statement = connection.createStatement();
+         ResultSet result = statement.executeQuery(LAG_QUERY)) {
+      result.next();
+      double lagSeconds = result.getDouble(1);
+      usable = !result.wasNull() && lagSeconds * 1000 <= maxLag.toMillis();
+      if (!usable && replicaUsable) {
+        log.warn("Read replica is {}s behind, routing reads to the primary", lagSeconds);
+      }
+    } catch (Exception e) {
+      usable = false;
+      if (replicaUsable) {
+        log.warn("Read replica unreachable, routing reads to the primary: {}", e.getMessage());
+      }
+    }
+    if (usable && !replicaUsable) {
+      log.info("Read replica within {} of the primary, routing read-only requests to it", maxLag);
+    }
+    replicaUsable = usable;
+
+    long now = System.nanoTime();
+    pinnedUntil.values().removeIf(until -> until - now <= 0);
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+  }
+}
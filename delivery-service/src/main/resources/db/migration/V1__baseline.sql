@@ -0,0 +1,16 @@
+-- Schema as previously generated by ddl-auto: update. Existing databases are baselined at this version.
+
+create table deliveries (
+    id               bigint generated by default as identity primary key,
+    status           varchar(255) not null
+        check (status in ('PENDING', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT', 'DELIVERED', 'FAILED')),
+    driver_name      varchar(255),
+    driver_phone     varchar(255),
+    pickup_address   varchar(255),
+    delivery_address varchar(255),
+    assigned_at      timestamp(6),
+    picked_up_at     timestamp(6),
+    delivered_at     timestamp(6),
+    created_at       timestamp(6) not null,
+    order_id         bigint
+);
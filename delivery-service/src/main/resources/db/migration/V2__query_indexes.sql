@@ -0,0 +1,8 @@
+-- DeliveryRepository.findByOrderId
+create index idx_deliveries_order_id on deliveries (order_id);
+
+-- DeliveryRepository.findByStatus
+create index idx_deliveries_status on deliveries (status);
+
+-- DeliveryRepository.findByDriverNameIgnoreCase (Spring Data compares upper(driver_name) = upper(?))
+create index idx_deliveries_driver_name_upper on deliveries (upper(driver_name));
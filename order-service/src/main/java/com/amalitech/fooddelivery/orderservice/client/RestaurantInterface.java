@@ -2,9 +2,17 @@ package com.amalitech.fooddelivery.orderservice.client;
 
 import com.amalitech.fooddelivery.orderservice.dto.MenuItemResponse;
 import com.amalitech.fooddelivery.orderservice.dto.RestaurantResponse;
+import com.amalitech.fooddelivery.orderservice.dto.StockReservationRequest;
+import com.amalitech.fooddelivery.orderservice.dto.StockReservationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.UUID;
 
 @FeignClient(name = "RESTAURANT-SERVICE", fallbackFactory = RestaurantInterfaceFallbackFactory.class)
 public interface RestaurantInterface {
@@ -13,4 +21,13 @@ public interface RestaurantInterface {
 
   @GetMapping("/api/restaurants/menu/{id}")
   MenuItemResponse getMenuItemById(@PathVariable Long id);
+
+  @PostMapping("/internal/restaurants/stock/reservations")
+  StockReservationResponse reserveStock(@RequestBody StockReservationRequest request);
+
+  @PostMapping("/internal/restaurants/stock/reservations/{reservationId}/commit")
+  void commitStock(@PathVariable UUID reservationId, @RequestParam Long orderId);
+
+  @DeleteMapping("/internal/restaurants/stock/reservations/{reservationId}")
+  void releaseStock(@PathVariable UUID reservationId);
 }
@@ -2,11 +2,15 @@ package com.amalitech.fooddelivery.orderservice.client;
 
 import com.amalitech.fooddelivery.orderservice.dto.MenuItemResponse;
 import com.amalitech.fooddelivery.orderservice.dto.RestaurantResponse;
+import com.amalitech.fooddelivery.orderservice.dto.StockReservationRequest;
+import com.amalitech.fooddelivery.orderservice.dto.StockReservationResponse;
 import com.amalitech.fooddelivery.orderservice.exception.ServiceUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 /**
  * Fallback factory for the Restaurant Service Feign client.
  * When the Restaurant Service is DOWN, order placement must be rejected
@@ -33,6 +37,27 @@ public class RestaurantInterfaceFallbackFactory implements FallbackFactory<Resta
                         "Cannot validate menu item id={}. Cause: {}", id, cause.getMessage());
                 throw new ServiceUnavailableException("Restaurant Service", cause);
             }
+
+            @Override
+            public StockReservationResponse reserveStock(StockReservationRequest request) {
+                log.error("Circuit breaker activated: Restaurant Service is unavailable. " +
+                        "Cannot reserve stock at restaurant id={}. Cause: {}", request.getRestaurantId(), cause.getMessage());
+                throw new ServiceUnavailableException("Restaurant Service", cause);
+            }
+
+            @Override
+            public void commitStock(UUID reservationId, Long orderId) {
+                log.error("Circuit breaker activated: Restaurant Service is unavailable. " +
+                        "Cannot commit stock reservation {} to order id={}. Cause: {}", reservationId, orderId, cause.getMessage());
+                throw new ServiceUnavailableException("Restaurant Service", cause);
+            }
+
+            @Override
+            public void releaseStock(UUID reservationId) {
+                // Not fatal: the Restaurant Service returns uncommitted reservations once they expire
+                log.warn("Could not release stock reservation {}; it will expire instead. Cause: {}",
+                        reservationId, cause.getMessage());
+            }
         };
     }
 }
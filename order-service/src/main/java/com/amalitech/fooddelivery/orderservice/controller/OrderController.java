@@ -2,7 +2,11 @@ package com.amalitech.fooddelivery.orderservice.controller;
 
 import com.amalitech.fooddelivery.orderservice.dto.OrderResponse;
 import com.amalitech.fooddelivery.orderservice.dto.PlaceOrderRequest;
+import com.amalitech.fooddelivery.orderservice.dto.ReviewRequest;
+import com.amalitech.fooddelivery.orderservice.dto.ReviewResponse;
+import com.amalitech.fooddelivery.orderservice.security.SecurityContextFilter;
 import com.amalitech.fooddelivery.orderservice.service.OrderService;
+import com.amalitech.fooddelivery.orderservice.service.ReviewService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +20,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ReviewService reviewService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ReviewService reviewService) {
         this.orderService = orderService;
+        this.reviewService = reviewService;
     }
 
     @PostMapping
@@ -35,7 +41,7 @@ public class OrderController {
 
     @GetMapping("/my-orders")
     public ResponseEntity<List<OrderResponse>> getMyOrders(Authentication auth) {
-        return ResponseEntity.ok(orderService.getCustomerOrders(auth.getName()));
+        return ResponseEntity.ok(orderService.getCustomerOrders(auth.getName(), SecurityContextFilter.userId(auth)));
     }
 
     @GetMapping("/restaurant/{restaurantId}")
@@ -53,6 +59,13 @@ public class OrderController {
     @PostMapping("/{id}/cancel")
     public ResponseEntity<OrderResponse> cancel(
             @PathVariable Long id, Authentication auth) {
-        return ResponseEntity.ok(orderService.cancelOrder(id, auth.getName()));
+        return ResponseEntity.ok(orderService.cancelOrder(id, auth.getName(), SecurityContextFilter.userId(auth)));
+    }
+
+    @PostMapping("/{id}/review")
+    public ResponseEntity<ReviewResponse> review(
+            @PathVariable Long id, Authentication auth, @Valid @RequestBody ReviewRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(reviewService.submitReview(id, auth.getName(), SecurityContextFilter.userId(auth), request));
     }
 }
@@ -3,7 +3,9 @@ package com.amalitech.fooddelivery.orderservice.dto;
 public enum OrderRoutingKey {
   ORDER_PLACED("order.placed"),
   ORDER_UPDATED("order.updated"),
-  ORDER_DELETED("order.deleted");
+  ORDER_DELETED("order.deleted"),
+  // Three segments so the delivery queue's order.* binding does not pick it up
+  REVIEW_SUBMITTED("order.review.submitted");
 
   private final String routingKey;
 
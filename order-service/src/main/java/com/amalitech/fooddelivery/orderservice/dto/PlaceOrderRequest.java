@@ -12,4 +12,5 @@ public class PlaceOrderRequest {
     @NotEmpty private List<OrderItemRequest> items;
     private String deliveryAddress;  // optional override of customer's default address
     private String specialInstructions;
+    private String quoteToken;  // optional, from POST /api/restaurants/{id}/quote; items must match its lines
 }
@@ -0,0 +1,28 @@
+package com.amalitech.fooddelivery.orderservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Signed payload of a Restaurant Service quote token (QuoteTokenVerifier); mirrors the Restaurant Service class.
+ */
+@Data
+public class QuoteClaims {
+    private Long restaurantId;
+    private String restaurantName;
+    private String restaurantAddress;
+    private int estimatedDeliveryMinutes;
+    private List<Line> lines;
+    private BigDecimal total;
+    private long expiresAt;  // epoch seconds
+
+    @Data
+    public static class Line {
+        private Long menuItemId;
+        private String itemName;
+        private int quantity;
+        private BigDecimal unitPrice;
+    }
+}
@@ -20,4 +20,7 @@ public class RestaurantResponse {
     private Long ownerId;
     private String ownerName;
 
+    // Null when talking to a restaurant-service without opening hours; treat as open
+    private Boolean openNow;
+
 }
@@ -0,0 +1,12 @@
+package com.amalitech.fooddelivery.orderservice.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ReviewRequest {
+    @Min(1) @Max(5) private int stars;
+    @Size(max = 1000) private String comment;
+}
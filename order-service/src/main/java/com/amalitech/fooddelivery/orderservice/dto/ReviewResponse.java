@@ -0,0 +1,30 @@
+package com.amalitech.fooddelivery.orderservice.dto;
+
+import com.amalitech.fooddelivery.orderservice.entity.ReviewEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Also the payload of the order.review.submitted event, which the Restaurant Service consumes
+ * to update the restaurant's rating.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewResponse {
+    private Long reviewId;
+    private Long orderId;
+    private Long restaurantId;
+    private Long customerId;
+    private int stars;
+    private String comment;
+    private LocalDateTime createdAt;
+
+    public static ReviewResponse fromEntity(ReviewEntity review) {
+        return new ReviewResponse(review.getId(), review.getOrderId(), review.getRestaurantId(),
+                review.getCustomerId(), review.getStars(), review.getComment(), review.getCreatedAt());
+    }
+}
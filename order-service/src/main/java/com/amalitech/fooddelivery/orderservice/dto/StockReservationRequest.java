@@ -0,0 +1,23 @@
+package com.amalitech.fooddelivery.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReservationRequest {
+    private Long restaurantId;
+    private List<Line> items;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Line {
+        private Long menuItemId;
+        private int quantity;
+    }
+}
@@ -0,0 +1,15 @@
+package com.amalitech.fooddelivery.orderservice.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class StockReservationResponse {
+    private boolean reserved;
+    private UUID reservationId;
+    private LocalDateTime expiresAt;
+    private List<Long> unavailableItemIds;
+}
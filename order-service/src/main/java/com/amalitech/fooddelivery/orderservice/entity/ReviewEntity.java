@@ -0,0 +1,45 @@
+package com.amalitech.fooddelivery.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Customer review of a delivered order — at most one per order.
+ */
+@Entity
+@Table(name = "reviews")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor @NoArgsConstructor
+public class ReviewEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, unique = true)
+  private Long orderId;
+
+  @Column(nullable = false)
+  private Long customerId;
+
+  @Column(nullable = false)
+  private Long restaurantId;
+
+  @Column(nullable = false)
+  private int stars;
+
+  @Column(length = 1000)
+  private String comment;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,8 @@
+package com.amalitech.fooddelivery.orderservice.repository;
+
+import com.amalitech.fooddelivery.orderservice.entity.ReviewEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
+    boolean existsByOrderId(Long orderId);
+}
@@ -0,0 +1,67 @@
+package com.amalitech.fooddelivery.orderservice.security;
+
+import com.amalitech.fooddelivery.orderservice.dto.QuoteClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Checks quote tokens signed by the Restaurant Service ({@code POST /api/restaurants/{id}/quote}) with the
+ * shared {@code app.quote.secret}. A token that verifies carries prices the Restaurant Service computed itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuoteTokenVerifier {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final JsonMapper jsonMapper;
+
+  @Value("${app.quote.secret}")
+  private String secret;
+
+  /**
+   * @throws IllegalStateException when the token is malformed, tampered with or expired
+   */
+  public QuoteClaims verify(String token) {
+    int dot = token.indexOf('.');
+    if (dot <= 0 || dot == token.length() - 1) {
+      throw new IllegalStateException("Invalid quote token");
+    }
+    String payload = token.substring(0, dot);
+    QuoteClaims claims;
+    try {
+      byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+      if (!MessageDigest.isEqual(signature, sign(payload))) {
+        throw new IllegalStateException("Invalid quote token");
+      }
+      claims = jsonMapper.readValue(Base64.getUrlDecoder().decode(payload), QuoteClaims.class);
+    } catch (IllegalArgumentException | JacksonException e) {
+      throw new IllegalStateException("Invalid quote token");
+    }
+    if (Instant.now().getEpochSecond() >= claims.getExpiresAt()) {
+      throw new IllegalStateException("Quote has expired, please request a new one");
+    }
+    return claims;
+  }
+
+  private byte[] sign(String payload) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+      return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Could not verify quote", e);
+    }
+  }
+}
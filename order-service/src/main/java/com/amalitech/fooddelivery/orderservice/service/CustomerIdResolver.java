@@ -0,0 +1,23 @@
+package com.amalitech.fooddelivery.orderservice.service;
+
+import com.amalitech.fooddelivery.orderservice.client.CustomerInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the caller to a customer id, preferring the id the gateway forwards in {@code X-Auth-User-Id}.
+ * Only tokens issued before the id claim existed still cost a Customer Service lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerIdResolver {
+
+    private final CustomerInterface customerService;
+
+    public Long resolve(String username, Long forwardedCustomerId) {
+        if (forwardedCustomerId != null) {
+            return forwardedCustomerId;
+        }
+        return customerService.findEntityByUsername(username).getId();
+    }
+}
@@ -11,24 +11,33 @@ import com.amalitech.fooddelivery.orderservice.entity.OrderItemEntity;
 import com.amalitech.fooddelivery.orderservice.exception.ResourceNotFoundException;
 import com.amalitech.fooddelivery.orderservice.exception.UnauthorizedException;
 import com.amalitech.fooddelivery.orderservice.repository.OrderRepository;
+import com.amalitech.fooddelivery.orderservice.security.QuoteTokenVerifier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Order Service business logic.
  *
  * Cross-domain communication:
  *  - Validates customer via Feign call to Customer Service (circuit-breaker protected)
- *  - Validates restaurant and menu items via Feign call to Restaurant Service (circuit-breaker protected)
+ *  - Validates restaurant and menu items via Feign call to Restaurant Service (circuit-breaker protected),
+ *    or takes them from a signed Restaurant Service quote token without calling back
+ *  - Reserves stock for the items before saving the order and commits the reservation once the order is committed
  *  - Publishes OrderPlacedEvent to RabbitMQ; Delivery Service subscribes asynchronously
  *  - Enriches order responses with delivery info via Feign call to Delivery Service (circuit-breaker protected, graceful degradation)
  */
@@ -42,6 +51,14 @@ public class OrderService {
     private final RestaurantInterface restaurantService;
     private final DeliveryInterface deliveryService;
     private final RabbitTemplate rabbitTemplate;
+    private final QuoteTokenVerifier quoteTokenVerifier;
+    private final CustomerIdResolver customerIdResolver;
+
+    @Value("${app.stock.commit-attempts:3}")
+    private int stockCommitAttempts;
+
+    @Value("${app.stock.commit-retry-backoff:PT0.2S}")
+    private Duration stockCommitRetryBackoff;
 
 
     @Transactional
@@ -49,64 +66,15 @@ public class OrderService {
         // Circuit breaker on CustomerInterface: if Customer Service is DOWN,
         // CustomerInterfaceFallbackFactory throws ServiceUnavailableException
         CustomerResponse customer = customerService.findEntityByUsername(customerUsername);
-
-        // Circuit breaker on RestaurantInterface: if Restaurant Service is DOWN,
-        // RestaurantInterfaceFallbackFactory throws ServiceUnavailableException
-        RestaurantResponse restaurant = restaurantService.findEntityById(request.getRestaurantId());
-
-        if (!restaurant.isActive()) {
-            throw new IllegalStateException("Restaurant is currently not accepting orders");
-        }
         log.warn("Customer with name {} {} fetched", customer.getFirstName(), customer.getLastName());
 
-        // Build order
-        OrderEntity order = OrderEntity.builder()
-                .customerId(customer.getId())
-                .customerName(customer.getFirstName() + " " + customer.getLastName())
-                .restaurantId(restaurant.getId())
-                .restaurantName(restaurant.getName())
-                .restaurantAddress(restaurant.getAddress())
-                .deliveryAddress(request.getDeliveryAddress() != null
-                        ? request.getDeliveryAddress()
-                        : customer.getDeliveryAddress())
-                .specialInstructions(request.getSpecialInstructions())
-                .estimatedDeliveryTime(
-                        LocalDateTime.now().plusMinutes(restaurant.getEstimatedDeliveryMinutes()))
-                .build();
+        OrderEntity order = request.getQuoteToken() != null
+                ? buildFromQuote(customer, request)
+                : buildFromMenu(customer, request);
 
-        // Validate and price each menu item via Restaurant Service
-        BigDecimal total = BigDecimal.ZERO;
-        List<OrderItemEntity> orderItems = new ArrayList<>();
-        for (OrderItemRequest itemReq : request.getItems()) {
-            MenuItemResponse menuItem = restaurantService.getMenuItemById(itemReq.getMenuItemId());
-
-            if (!menuItem.isAvailable()) {
-                throw new IllegalStateException("Menu item '" + menuItem.getName() + "' is not available");
-            }
-            if (!menuItem.getRestaurantId().equals(restaurant.getId())) {
-                throw new IllegalStateException("Menu item '" + menuItem.getName()
-                        + "' does not belong to restaurant '" + restaurant.getName() + "'");
-            }
-
-            BigDecimal subtotal = menuItem.getPrice().multiply(BigDecimal.valueOf(itemReq.getQuantity()));
-
-            OrderItemEntity orderItem = OrderItemEntity.builder()
-                    .order(order)
-                    .menuItemId(menuItem.getId())
-                    .itemName(menuItem.getName())
-                    .quantity(itemReq.getQuantity())
-                    .unitPrice(menuItem.getPrice())
-                    .subtotal(subtotal)
-                    .specialInstructions(itemReq.getSpecialInstructions())
-                    .build();
-
-            orderItems.add(orderItem);
-            total = total.add(subtotal);
-        }
-
-        order.setTotalAmount(total);
-        order.setItems(orderItems);
-        OrderEntity savedOrder = orderRepository.save(order);
+        UUID reservationId = reserveStock(order.getRestaurantId(), order.getItems());
+        settleReservationOnCompletion(reservationId, order);
+        OrderEntity savedOrder = orderRepository.saveAndFlush(order);
 
         // Publish OrderPlacedEvent so Delivery Service creates a delivery asynchronously.
         // If Delivery Service is DOWN, the message stays in RabbitMQ and is processed
@@ -129,9 +97,8 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getCustomerOrders(String username) {
-        CustomerResponse customer = customerService.findEntityByUsername(username);
-        return orderRepository.findByCustomerIdOrderByCreatedAtDesc(customer.getId())
+    public List<OrderResponse> getCustomerOrders(String username, Long customerId) {
+        return orderRepository.findByCustomerIdOrderByCreatedAtDesc(customerIdResolver.resolve(username, customerId))
                 .stream().map(OrderResponse::fromEntity).map(this::enrichWithDeliveryInfo).toList();
     }
 
@@ -153,13 +120,11 @@ public class OrderService {
     }
 
     @Transactional
-    public OrderResponse cancelOrder(Long orderId, String username) {
+    public OrderResponse cancelOrder(Long orderId, String username, Long customerId) {
         OrderEntity order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
-        CustomerResponse customer = customerService.findEntityByUsername(username);
-
-        if (!order.getCustomerId().equals(customer.getId())) {
+        if (!order.getCustomerId().equals(customerIdResolver.resolve(username, customerId))) {
             throw new UnauthorizedException("You can only cancel your own orders");
         }
 
@@ -181,6 +146,162 @@ public class OrderService {
         return OrderResponse.fromEntity(orderRepository.save(order));
     }
 
+    /**
+     * Prices the order from a Restaurant Service quote token: no restaurant or menu lookups, the token
+     * already carries the validated names and prices. The request lines must be the quoted lines, in order.
+     */
+    private OrderEntity buildFromQuote(CustomerResponse customer, PlaceOrderRequest request) {
+        QuoteClaims quote = quoteTokenVerifier.verify(request.getQuoteToken());
+        if (!quote.getRestaurantId().equals(request.getRestaurantId())
+                || quote.getLines().size() != request.getItems().size()) {
+            throw new IllegalStateException("Cart does not match the quote, please request a new one");
+        }
+
+        OrderEntity order = newOrder(customer, request, quote.getRestaurantId(), quote.getRestaurantName(),
+                quote.getRestaurantAddress(), quote.getEstimatedDeliveryMinutes());
+        List<OrderItemEntity> orderItems = new ArrayList<>();
+        for (int i = 0; i < quote.getLines().size(); i++) {
+            QuoteClaims.Line line = quote.getLines().get(i);
+            OrderItemRequest itemReq = request.getItems().get(i);
+            if (!line.getMenuItemId().equals(itemReq.getMenuItemId()) || line.getQuantity() != itemReq.getQuantity()) {
+                throw new IllegalStateException("Cart does not match the quote, please request a new one");
+            }
+            orderItems.add(newItem(order, line.getMenuItemId(), line.getItemName(), line.getUnitPrice(), itemReq));
+        }
+        return withItems(order, orderItems);
+    }
+
+    private OrderEntity buildFromMenu(CustomerResponse customer, PlaceOrderRequest request) {
+        // Circuit breaker on RestaurantInterface: if Restaurant Service is DOWN,
+        // RestaurantInterfaceFallbackFactory throws ServiceUnavailableException
+        RestaurantResponse restaurant = restaurantService.findEntityById(request.getRestaurantId());
+
+        if (!restaurant.isActive()) {
+            throw new IllegalStateException("Restaurant is currently not accepting orders");
+        }
+        if (Boolean.FALSE.equals(restaurant.getOpenNow())) {
+            throw new IllegalStateException("Restaurant '" + restaurant.getName() + "' is closed right now");
+        }
+
+        OrderEntity order = newOrder(customer, request, restaurant.getId(), restaurant.getName(),
+                restaurant.getAddress(), restaurant.getEstimatedDeliveryMinutes());
+
+        // Validate and price each menu item via Restaurant Service
+        List<OrderItemEntity> orderItems = new ArrayList<>();
+        for (OrderItemRequest itemReq : request.getItems()) {
+            MenuItemResponse menuItem = restaurantService.getMenuItemById(itemReq.getMenuItemId());
+
+            if (!menuItem.isAvailable()) {
+                throw new IllegalStateException("Menu item '" + menuItem.getName() + "' is not available");
+            }
+            if (!menuItem.getRestaurantId().equals(restaurant.getId())) {
+                throw new IllegalStateException("Menu item '" + menuItem.getName()
+                        + "' does not belong to restaurant '" + restaurant.getName() + "'");
+            }
+
+            orderItems.add(newItem(order, menuItem.getId(), menuItem.getName(), menuItem.getPrice(), itemReq));
+        }
+        return withItems(order, orderItems);
+    }
+
+    private OrderEntity newOrder(CustomerResponse customer, PlaceOrderRequest request, Long restaurantId,
+                                 String restaurantName, String restaurantAddress, int estimatedDeliveryMinutes) {
+        return OrderEntity.builder()
+                .customerId(customer.getId())
+                .customerName(customer.getFirstName() + " " + customer.getLastName())
+                .restaurantId(restaurantId)
+                .restaurantName(restaurantName)
+                .restaurantAddress(restaurantAddress)
+                .deliveryAddress(request.getDeliveryAddress() != null
+                        ? request.getDeliveryAddress()
+                        : customer.getDeliveryAddress())
+                .specialInstructions(request.getSpecialInstructions())
+                .estimatedDeliveryTime(LocalDateTime.now().plusMinutes(estimatedDeliveryMinutes))
+                .build();
+    }
+
+    private static OrderItemEntity newItem(OrderEntity order, Long menuItemId, String itemName,
+                                           BigDecimal unitPrice, OrderItemRequest itemReq) {
+        return OrderItemEntity.builder()
+                .order(order)
+                .menuItemId(menuItemId)
+                .itemName(itemName)
+                .quantity(itemReq.getQuantity())
+                .unitPrice(unitPrice)
+                .subtotal(unitPrice.multiply(BigDecimal.valueOf(itemReq.getQuantity())))
+                .specialInstructions(itemReq.getSpecialInstructions())
+                .build();
+    }
+
+    private static OrderEntity withItems(OrderEntity order, List<OrderItemEntity> orderItems) {
+        order.setTotalAmount(orderItems.stream().map(OrderItemEntity::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+        order.setItems(orderItems);
+        return order;
+    }
+
+    /**
+     * Commits the reservation to the order once the order row is committed, or releases it if the
+     * transaction rolls back, so a reservation is never committed to an order that doesn't exist.
+     * The commit is idempotent on the Restaurant Service and is retried; the sweep there leaves expired
+     * reservations alone for a grace period that covers these retries. If every attempt fails, the
+     * reservation is held until it expires.
+     */
+    private void settleReservationOnCompletion(UUID reservationId, OrderEntity order) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    restaurantService.releaseStock(reservationId);
+                    return;
+                }
+                commitStock(reservationId, order.getId());
+            }
+        });
+    }
+
+    private void commitStock(UUID reservationId, Long orderId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                restaurantService.commitStock(reservationId, orderId);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= stockCommitAttempts) {
+                    log.error("Could not commit stock reservation {} to order {} after {} attempts; its stock returns when it expires. Cause: {}",
+                            reservationId, orderId, attempt, e.getMessage());
+                    return;
+                }
+                log.warn("Stock commit attempt {} for reservation {} failed, retrying. Cause: {}",
+                        attempt, reservationId, e.getMessage());
+            }
+            try {
+                Thread.sleep(stockCommitRetryBackoff.multipliedBy(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while committing stock reservation {} to order {}", reservationId, orderId);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Holds stock for every line in one call; the Restaurant Service either reserves all of it or nothing.
+     */
+    private UUID reserveStock(Long restaurantId, List<OrderItemEntity> orderItems) {
+        StockReservationResponse reservation = restaurantService.reserveStock(new StockReservationRequest(restaurantId,
+                orderItems.stream()
+                        .map(item -> new StockReservationRequest.Line(item.getMenuItemId(), item.getQuantity()))
+                        .toList()));
+        if (!reservation.isReserved()) {
+            String soldOut = orderItems.stream()
+                    .filter(item -> reservation.getUnavailableItemIds().contains(item.getMenuItemId()))
+                    .map(OrderItemEntity::getItemName)
+                    .distinct()
+                    .collect(Collectors.joining("', '", "'", "'"));
+            throw new IllegalStateException("Not enough stock left for " + soldOut);
+        }
+        return reservation.getReservationId();
+    }
+
     /**
      * Enriches an OrderResponse with delivery information fetched from the Delivery Service.
      * Circuit breaker on DeliveryInterface: if Delivery Service is DOWN,
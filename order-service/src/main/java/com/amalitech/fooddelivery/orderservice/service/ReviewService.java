@@ -0,0 +1,128 @@
+package com.amalitech.fooddelivery.orderservice.service;
+
+import com.amalitech.fooddelivery.orderservice.config.RabbitMQConfig;
+import com.amalitech.fooddelivery.orderservice.dto.OrderRoutingKey;
+import com.amalitech.fooddelivery.orderservice.dto.ReviewRequest;
+import com.amalitech.fooddelivery.orderservice.dto.ReviewResponse;
+import com.amalitech.fooddelivery.orderservice.entity.OrderEntity;
+import com.amalitech.fooddelivery.orderservice.entity.ReviewEntity;
+import com.amalitech.fooddelivery.orderservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.orderservice.exception.UnauthorizedException;
+import com.amalitech.fooddelivery.orderservice.repository.OrderRepository;
+import com.amalitech.fooddelivery.orderservice.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reviews for delivered orders. The Order Service owns the order lifecycle, so it is the one that can tell
+ * whether a review is allowed; the Restaurant Service aggregates ratings from the published events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewService {
+
+    private final OrderRepository orderRepository;
+    private final ReviewRepository reviewRepository;
+    private final CustomerIdResolver customerIdResolver;
+    private final RabbitTemplate rabbitTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.events.publish-attempts:3}")
+    private int publishAttempts;
+
+    @Value("${app.events.confirm-timeout:PT2S}")
+    private Duration confirmTimeout;
+
+    @Value("${app.events.retry-backoff:PT0.5S}")
+    private Duration retryBackoff;
+
+    @Transactional
+    public ReviewResponse submitReview(Long orderId, String username, Long customerId, ReviewRequest request) {
+        OrderEntity order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+
+        if (!order.getCustomerId().equals(customerIdResolver.resolve(username, customerId))) {
+            throw new UnauthorizedException("You can only review your own orders");
+        }
+
+        if (order.getStatus() != OrderEntity.OrderStatus.DELIVERED) {
+            throw new IllegalStateException("Only delivered orders can be reviewed, order is " + order.getStatus());
+        }
+
+        if (reviewRepository.existsByOrderId(orderId)) {
+            throw new IllegalStateException("Order " + orderId + " has already been reviewed");
+        }
+
+        ReviewEntity review = reviewRepository.save(ReviewEntity.builder()
+                .orderId(orderId)
+                .customerId(order.getCustomerId())
+                .restaurantId(order.getRestaurantId())
+                .stars(request.getStars())
+                .comment(request.getComment())
+                .build());
+
+        ReviewResponse response = ReviewResponse.fromEntity(review);
+        eventPublisher.publishEvent(response);
+        return response;
+    }
+
+    /**
+     * Sends the review once it is committed, so a rolled-back review never reaches the rating, and waits for
+     * the broker's publisher confirm, resending up to {@code publish-attempts} times. The Restaurant Service
+     * ignores a review it has already applied, so a resend after a lost confirm is harmless. A final failure
+     * is logged with the review so it can be replayed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publishReview(ReviewResponse review) {
+        String routingKey = OrderRoutingKey.REVIEW_SUBMITTED.getRoutingKey();
+        String cause = null;
+        for (int attempt = 1; attempt <= publishAttempts; attempt++) {
+            CorrelationData correlation = new CorrelationData(routingKey + ":" + review.getOrderId() + ":" + attempt);
+            try {
+                rabbitTemplate.convertAndSend(RabbitMQConfig.APP_EXCHANGE, routingKey, review, correlation);
+                CorrelationData.Confirm confirm = correlation.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (confirm.ack()) {
+                    return;
+                }
+                cause = "nacked by the broker: " + confirm.reason();
+            } catch (AmqpException | ExecutionException | TimeoutException e) {
+                cause = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cause = "interrupted";
+                break;
+            }
+            log.warn("Publishing review for order {} failed (attempt {}/{}): {}",
+                    review.getOrderId(), attempt, publishAttempts, cause);
+            if (attempt < publishAttempts && !sleep(retryBackoff.multipliedBy(attempt))) {
+                break;
+            }
+        }
+        log.error("Gave up publishing review for order {}; the restaurant rating misses it until the review is replayed: {}. Review: {}",
+                review.getOrderId(), cause, review);
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+-- Schema as previously generated by ddl-auto: update. Existing databases are baselined at this version.
+
+create table orders (
+    id                      bigint generated by default as identity primary key,
+    status                  varchar(255) not null
+        check (status in ('PLACED', 'CONFIRMED', 'PREPARING', 'READY_FOR_PICKUP', 'OUT_FOR_DELIVERY', 'DELIVERED', 'CANCELLED')),
+    total_amount            numeric(38, 2) not null,
+    delivery_fee            numeric(38, 2),
+    delivery_address        varchar(255),
+    special_instructions    varchar(255),
+    created_at              timestamp(6) not null,
+    updated_at              timestamp(6),
+    estimated_delivery_time timestamp(6),
+    customer_id             bigint,
+    customer_name           varchar(255),
+    restaurant_id           bigint,
+    restaurant_name         varchar(255),
+    restaurant_address      varchar(255),
+    delivery_id             bigint
+);
+
+create table order_items (
+    id                   bigint generated by default as identity primary key,
+    quantity             integer not null,
+    unit_price           numeric(38, 2) not null,
+    subtotal             numeric(38, 2) not null,
+    special_instructions varchar(255),
+    order_id             bigint not null references orders (id),
+    menu_item_id         bigint,
+    item_name            varchar(255)
+);
+
+create table reviews (
+    id            bigint generated by default as identity primary key,
+    order_id      bigint not null,
+    customer_id   bigint not null,
+    restaurant_id bigint not null,
+    stars         integer not null,
+    comment       varchar(1000),
+    created_at    timestamp(6) not null,
+    constraint uk_reviews_order_id unique (order_id)
+);
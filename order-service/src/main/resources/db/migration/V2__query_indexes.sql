@@ -0,0 +1,11 @@
+-- OrderRepository.findByCustomerIdOrderByCreatedAtDesc: index order matches the sort, no sort step
+create index idx_orders_customer_created on orders (customer_id, created_at desc);
+
+-- OrderRepository.findByRestaurantIdOrderByCreatedAtDesc
+create index idx_orders_restaurant_created on orders (restaurant_id, created_at desc);
+
+-- OrderRepository.findByStatus
+create index idx_orders_status on orders (status);
+
+-- Loading an order's items (Postgres does not index foreign keys on its own)
+create index idx_order_items_order_id on order_items (order_id);
@@ -4,7 +4,11 @@ import com.amalitech.fooddelivery.restaurantservice.dto.CustomerResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "CUSTOMER-SERVICE", fallbackFactory = CustomerInterfaceFallbackFactory.class)
 public interface CustomerInterface {
@@ -14,6 +18,6 @@ public interface CustomerInterface {
   @GetMapping("api/customers/id/{id}")
   CustomerResponse getById(@PathVariable Long id);
 
-  @PutMapping("api/customers/make-restaurant-owner")
-  CustomerResponse makeRestaurantOwner();
+  @PostMapping("api/customers/batch")
+  List<CustomerResponse> getByIds(@RequestBody Collection<Long> ids);
 }
@@ -6,6 +6,9 @@ import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
 /**
  * Fallback factory for the Customer Service Feign client used by Restaurant Service.
  * When the Customer Service is DOWN, restaurant ownership validation and
@@ -30,10 +33,10 @@ public class CustomerInterfaceFallbackFactory implements FallbackFactory<Custome
                 return null;
             }
             @Override
-            public CustomerResponse makeRestaurantOwner() {
-                log.error("Circuit breaker activated: Customer Service is unavailable. "
-                        + "Cannot promote user to restaurant owner. Cause: {}", cause.getMessage());
-                throw new ServiceUnavailableException("Customer Service", cause);
+            public List<CustomerResponse> getByIds(Collection<Long> ids) {
+                log.warn("Circuit breaker activated: Customer Service is unavailable. "
+                        + "Cannot fetch owner info for {} ids. Cause: {}", ids.size(), cause.getMessage());
+                return List.of();
             }
         };
     }
@@ -0,0 +1,19 @@
+package com.amalitech.fooddelivery.restaurantservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process Caffeine caches for the read-heavy restaurant and menu lookups.
+ * Size/TTL bounds and stats recording are set via {@code spring.cache.caffeine.spec};
+ * hit/miss counters are exported by actuator as {@code cache.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String RESTAURANTS = "restaurants";
+  public static final String MENUS = "menus";
+  public static final String MENU_ITEMS = "menuItems";
+  public static final String MENU_VERSIONS = "menuVersions";
+}
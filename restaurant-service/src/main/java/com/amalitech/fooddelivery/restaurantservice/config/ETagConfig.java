@@ -0,0 +1,25 @@
+package com.amalitech.fooddelivery.restaurantservice.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Conditional GET for restaurant listings.
+ *
+ * Listings mix data this service doesn't version (owner names, ratings), so their ETag is a hash of the
+ * rendered body: it saves egress on unchanged results but not the query itself. Menus use the cheaper
+ * version-counter ETag in RestaurantController instead.
+ */
+@Configuration
+public class ETagConfig {
+
+  @Bean
+  public FilterRegistrationBean<ShallowEtagHeaderFilter> listingETagFilter() {
+    FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+            new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+    registration.addUrlPatterns("/api/restaurants/search/*");
+    return registration;
+  }
+}
@@ -25,6 +25,11 @@ public class FeignConfig {
           template.header("X-Auth-User", authUser);
         }
 
+        String authUserId = request.getHeader("X-Auth-User-Id");
+        if (authUserId != null) {
+          template.header("X-Auth-User-Id", authUserId);
+        }
+
         String authRole = request.getHeader("X-Auth-Role");
         if (authRole != null) {
           template.header("X-Auth-Role", authRole);
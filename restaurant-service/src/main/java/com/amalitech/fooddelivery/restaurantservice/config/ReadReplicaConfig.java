@@ -0,0 +1,69 @@
+package com.amalitech.fooddelivery.restaurantservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Optional read replica, enabled with {@code app.datasource.replica.enabled}. The application DataSource
+ * then routes between the primary pool ({@code spring.datasource.*}) and a read-only replica pool
+ * ({@code app.datasource.replica.*}); see {@link ReplicaRoutingDataSource}. Disabled, Spring Boot's
+ * single DataSource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public HikariDataSource replicaDataSource(
+          DataSourceProperties properties,
+          @Value("${app.datasource.replica.url}") String url,
+          @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+          @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password,
+          @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+    HikariDataSource replica = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.getDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+    replica.setPoolName("replica");
+    replica.setReadOnly(true);
+    replica.setMaximumPoolSize(maximumPoolSize);
+    return replica;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+          @Qualifier("primaryDataSource") DataSource primary,
+          @Qualifier("replicaDataSource") DataSource replica,
+          @Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag,
+          @Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration readYourWritesWindow,
+          @Value("${app.datasource.replica.lag-check-interval:PT2S}") Duration lagCheckInterval) {
+    return new ReplicaRoutingDataSource(primary, replica, maxLag, readYourWritesWindow, lagCheckInterval);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+}
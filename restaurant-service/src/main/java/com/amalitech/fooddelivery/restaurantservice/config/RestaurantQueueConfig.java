@@ -0,0 +1,98 @@
+package com.amalitech.fooddelivery.restaurantservice.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RestaurantQueueConfig {
+
+  public static final String REVIEW_QUEUE = "restaurant.review.queue";
+  public static final String ORDER_QUEUE = "restaurant.order.queue";
+  public static final String STOCK_QUEUE = "restaurant.stock.queue";
+
+  /**
+   * Per-instance, auto-delete queue so every restaurant-service replica
+   * receives each restaurant change event and can evict its local cache.
+   */
+  @Bean
+  public Queue restaurantCacheQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean
+  public Binding restaurantCacheBinding(Queue restaurantCacheQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(restaurantCacheQueue)
+            .to(exchange)
+            .with("restaurant.#");
+  }
+
+  /**
+   * Per-instance: every replica keeps its own in-memory trending counters, so each needs every placed order.
+   */
+  @Bean
+  public Queue trendingQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean
+  public Binding trendingBinding(Queue trendingQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(trendingQueue)
+            .to(exchange)
+            .with("order.placed");
+  }
+
+  /**
+   * Durable, shared by all replicas: each review must be applied to the rating exactly once.
+   */
+  @Bean
+  public Queue restaurantReviewQueue() {
+    return new Queue(REVIEW_QUEUE, true);
+  }
+
+  @Bean
+  public Binding restaurantReviewBinding(Queue restaurantReviewQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(restaurantReviewQueue)
+            .to(exchange)
+            .with("order.review.submitted");
+  }
+
+  /**
+   * Durable, shared by all replicas: each placed order is recorded once in restaurant_orders.
+   */
+  @Bean
+  public Queue restaurantOrderQueue() {
+    return new Queue(ORDER_QUEUE, true);
+  }
+
+  @Bean
+  public Binding restaurantOrderBinding(Queue restaurantOrderQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(restaurantOrderQueue)
+            .to(exchange)
+            .with("order.placed");
+  }
+
+  /**
+   * Durable, shared by all replicas: stock held by a cancelled order is returned exactly once.
+   */
+  @Bean
+  public Queue restaurantStockQueue() {
+    return new Queue(STOCK_QUEUE, true);
+  }
+
+  @Bean
+  public Binding restaurantStockBinding(Queue restaurantStockQueue, TopicExchange exchange) {
+    return BindingBuilder
+            .bind(restaurantStockQueue)
+            .to(exchange)
+            .with("order.deleted");
+  }
+}
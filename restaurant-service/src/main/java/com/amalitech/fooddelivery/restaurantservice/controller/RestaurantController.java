@@ -1,16 +1,43 @@
 package com.amalitech.fooddelivery.restaurantservice.controller;
 
+import com.amalitech.fooddelivery.restaurantservice.dto.LocationRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuDeltaResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuImportResponse;
 import com.amalitech.fooddelivery.restaurantservice.dto.MenuItemRequest;
 import com.amalitech.fooddelivery.restaurantservice.dto.MenuItemResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.NearbyRestaurantResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.OpeningHoursRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.OpeningHoursResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.QuoteRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.QuoteResponse;
 import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantRequest;
 import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.SearchPageResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockUpdateRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.TrendingResponse;
+import com.amalitech.fooddelivery.restaurantservice.security.SecurityContextFilter;
+import com.amalitech.fooddelivery.restaurantservice.service.MenuImportService;
+import com.amalitech.fooddelivery.restaurantservice.service.MenuSnapshotService;
+import com.amalitech.fooddelivery.restaurantservice.service.OpeningHoursIndex;
+import com.amalitech.fooddelivery.restaurantservice.service.OpeningHoursService;
+import com.amalitech.fooddelivery.restaurantservice.service.QuoteService;
+import com.amalitech.fooddelivery.restaurantservice.service.RestaurantGeoIndex;
+import com.amalitech.fooddelivery.restaurantservice.service.RestaurantSearchIndex;
 import com.amalitech.fooddelivery.restaurantservice.service.RestaurantService;
+import com.amalitech.fooddelivery.restaurantservice.service.StockService;
+import com.amalitech.fooddelivery.restaurantservice.service.TrendingService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,31 +45,96 @@ import java.util.List;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
-
-    public RestaurantController(RestaurantService restaurantService) {
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantGeoIndex geoIndex;
+    private final MenuImportService menuImportService;
+    private final MenuSnapshotService menuSnapshotService;
+    private final OpeningHoursService openingHoursService;
+    private final OpeningHoursIndex openingHoursIndex;
+    private final StockService stockService;
+    private final TrendingService trendingService;
+    private final QuoteService quoteService;
+
+    public RestaurantController(RestaurantService restaurantService, RestaurantSearchIndex searchIndex,
+                                RestaurantGeoIndex geoIndex, MenuImportService menuImportService,
+                                MenuSnapshotService menuSnapshotService, OpeningHoursService openingHoursService,
+                                OpeningHoursIndex openingHoursIndex, StockService stockService,
+                                TrendingService trendingService, QuoteService quoteService) {
         this.restaurantService = restaurantService;
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.menuImportService = menuImportService;
+        this.menuSnapshotService = menuSnapshotService;
+        this.openingHoursService = openingHoursService;
+        this.openingHoursIndex = openingHoursIndex;
+        this.stockService = stockService;
+        this.trendingService = trendingService;
+        this.quoteService = quoteService;
     }
 
     // ---- Public endpoints (no auth required) ----
 
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageResponse> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(searchIndex.search(q, type, page, size, sort));
+    }
+
+    @GetMapping("/search/nearby")
+    public ResponseEntity<List<NearbyRestaurantResponse>> searchNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+        return ResponseEntity.ok(geoIndex.nearby(lat, lon, radiusKm, limit, cuisine, openNow));
+    }
+
+    @GetMapping("/search/trending")
+    public ResponseEntity<TrendingResponse> trending(
+            @RequestParam String city,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.trending(city, limit));
+    }
+
     @GetMapping("/search/city/{city}")
-    public ResponseEntity<List<RestaurantResponse>> searchByCity(@PathVariable String city) {
-        return ResponseEntity.ok(restaurantService.searchByCity(city));
+    public ResponseEntity<List<RestaurantResponse>> searchByCity(
+            @PathVariable String city,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(restaurantService.searchByCity(city, openNow, sort));
     }
 
     @GetMapping("/search/cuisine/{type}")
-    public ResponseEntity<List<RestaurantResponse>> searchByCuisine(@PathVariable String type) {
-        return ResponseEntity.ok(restaurantService.searchByCuisine(type));
+    public ResponseEntity<List<RestaurantResponse>> searchByCuisine(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(restaurantService.searchByCuisine(type, openNow, sort));
     }
 
     @GetMapping("/search/all")
-    public ResponseEntity<List<RestaurantResponse>> getAllActive() {
-        return ResponseEntity.ok(restaurantService.getAllActive());
+    public ResponseEntity<List<RestaurantResponse>> getAllActive(
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(restaurantService.getAllActive(openNow, sort));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<RestaurantResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(restaurantService.getById(id));
+        // The cached response is shared, so open-now is stamped on a copy
+        RestaurantResponse restaurant = restaurantService.getById(id);
+        return ResponseEntity.ok(restaurant.withOpenNow(restaurant.isActive() && openingHoursIndex.isOpenNow(id)));
+    }
+
+    @GetMapping("/{id}/hours")
+    public ResponseEntity<OpeningHoursResponse> getHours(@PathVariable Long id) {
+        return ResponseEntity.ok(openingHoursService.getHours(id));
     }
 
     @GetMapping("/menu/{id}")
@@ -51,10 +143,33 @@ public class RestaurantController {
     }
 
     @GetMapping("/{id}/menu")
-    public ResponseEntity<List<MenuItemResponse>> getMenu(@PathVariable Long id) {
-        return ResponseEntity.ok(restaurantService.getMenu(id));
+    public ResponseEntity<List<MenuItemResponse>> getMenu(@PathVariable Long id, WebRequest request) {
+        String eTag = restaurantService.getMenuETag(id);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+        }
+        RestaurantService.Menu menu = restaurantService.getMenu(id);
+        if (!menu.eTag().equals(eTag)) {
+            // A slow fill stored an older menu after a write evicted it: reload once
+            restaurantService.evictMenu(id);
+            menu = restaurantService.getMenu(id);
+        }
+        // The body always goes out with the tag it was read at, even if the version cache disagrees
+        return ResponseEntity.ok().eTag(menu.eTag()).cacheControl(CacheControl.noCache()).body(menu.items());
+    }
+
+    @GetMapping("/{id}/menu/changes")
+    public ResponseEntity<MenuDeltaResponse> getMenuChanges(
+            @PathVariable Long id, @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(menuSnapshotService.getChangesSince(id, since));
     }
 
+    // ---- Checkout pricing (customer) ----
+
+    @PostMapping("/{id}/quote")
+    public ResponseEntity<QuoteResponse> quote(@PathVariable Long id, @Valid @RequestBody QuoteRequest request) {
+        return ResponseEntity.ok(quoteService.quote(id, request));
+    }
 
     // ---- Authenticated endpoints (restaurant owner) ----
 
@@ -62,7 +177,23 @@ public class RestaurantController {
     public ResponseEntity<RestaurantResponse> create(
             Authentication auth, @Valid @RequestBody RestaurantRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(restaurantService.createRestaurant(auth.getName(), request));
+                .body(restaurantService.createRestaurant(auth.getName(), SecurityContextFilter.userId(auth), request));
+    }
+
+    @PutMapping("/{restaurantId}/location")
+    public ResponseEntity<RestaurantResponse> updateLocation(
+            @PathVariable Long restaurantId,
+            Authentication auth,
+            @Valid @RequestBody LocationRequest request) {
+        return ResponseEntity.ok(restaurantService.updateLocation(restaurantId, auth.getName(), request));
+    }
+
+    @PutMapping("/{restaurantId}/hours")
+    public ResponseEntity<OpeningHoursResponse> updateHours(
+            @PathVariable Long restaurantId,
+            Authentication auth,
+            @Valid @RequestBody OpeningHoursRequest request) {
+        return ResponseEntity.ok(openingHoursService.updateHours(restaurantId, auth.getName(), request));
     }
 
     @PostMapping("/{restaurantId}/menu")
@@ -74,6 +205,17 @@ public class RestaurantController {
                 .body(restaurantService.addMenuItem(restaurantId, auth.getName(), request));
     }
 
+    @PostMapping(value = "/{restaurantId}/menu/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MenuImportService.TEXT_CSV_VALUE})
+    public ResponseEntity<MenuImportResponse> importMenu(
+            @PathVariable Long restaurantId,
+            Authentication auth,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(menuImportService.importMenu(restaurantId, auth.getName(), contentType, body));
+    }
+
     @PutMapping("/menu/{itemId}")
     public ResponseEntity<MenuItemResponse> updateMenuItem(
             @PathVariable Long itemId,
@@ -88,4 +230,12 @@ public class RestaurantController {
         restaurantService.toggleMenuItemAvailability(itemId, auth.getName());
         return ResponseEntity.noContent().build();
     }
+
+    @PutMapping("/menu/{itemId}/stock")
+    public ResponseEntity<StockResponse> updateStock(
+            @PathVariable Long itemId,
+            Authentication auth,
+            @Valid @RequestBody StockUpdateRequest request) {
+        return ResponseEntity.ok(stockService.updateStock(itemId, auth.getName(), request));
+    }
 }
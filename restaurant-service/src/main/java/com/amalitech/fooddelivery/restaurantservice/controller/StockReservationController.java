@@ -0,0 +1,45 @@
+package com.amalitech.fooddelivery.restaurantservice.controller;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.StockReservationRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockReservationResponse;
+import com.amalitech.fooddelivery.restaurantservice.service.StockService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Checkout stock reservations, called by the Order Service only.
+ *
+ * Lives outside {@code /api/**} so the API Gateway never routes it: a client could otherwise hold stock
+ * without ordering, or release another checkout's reservation.
+ */
+@RestController
+@RequestMapping("/internal/restaurants/stock/reservations")
+public class StockReservationController {
+
+    private final StockService stockService;
+
+    public StockReservationController(StockService stockService) {
+        this.stockService = stockService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StockReservationResponse> reserveStock(
+            @Valid @RequestBody StockReservationRequest request) {
+        return ResponseEntity.ok(stockService.reserve(request));
+    }
+
+    @PostMapping("/{reservationId}/commit")
+    public ResponseEntity<Void> commitStock(@PathVariable UUID reservationId, @RequestParam Long orderId) {
+        stockService.commit(reservationId, orderId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<Void> releaseStock(@PathVariable UUID reservationId) {
+        stockService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class LocationRequest {
+    @NotNull @DecimalMin("-90") @DecimalMax("90") private Double latitude;
+    @NotNull @DecimalMin("-180") @DecimalMax("180") private Double longitude;
+}
@@ -0,0 +1,24 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Menu delta, published to RabbitMQ after a menu write commits.
+ *
+ * Carries the new menu version, the hash of the full menu at that version and the changed items
+ * in their new state, so every instance can drop its cached copy and downstream consumers can
+ * apply the change without re-fetching the menu.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MenuChangedEvent {
+    private Long restaurantId;
+    private long version;
+    private String contentHash;
+    private List<MenuItemResponse> items;
+}
@@ -0,0 +1,18 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MenuDeltaResponse {
+    private Long restaurantId;
+    private long fromVersion;
+    private long version;
+    private String contentHash;
+    // True when fromVersion is no longer retained: items then holds the full menu, not a delta
+    private boolean fullResync;
+    private List<MenuItemResponse> items;
+}
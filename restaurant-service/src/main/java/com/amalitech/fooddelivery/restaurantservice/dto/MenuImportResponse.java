@@ -0,0 +1,22 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MenuImportResponse {
+    private int imported;
+    private int rejected;
+    // Capped; rejected carries the full count
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.Data;
+
+/**
+ * Compact restaurant summary returned by geo search, served from the in-memory geo index.
+ */
+@Data
+public class NearbyRestaurantResponse {
+    private Long id;
+    private String name;
+    private String cuisineType;
+    private String address;
+    private String city;
+    private double latitude;
+    private double longitude;
+    private int estimatedDeliveryMinutes;
+    private double distanceKm;
+    private boolean openNow;
+}
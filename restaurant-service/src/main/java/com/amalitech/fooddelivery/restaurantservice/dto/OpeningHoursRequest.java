@@ -0,0 +1,36 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full replacement of a restaurant's schedule. An empty {@code weekly} list removes the schedule,
+ * which makes the restaurant open whenever it is active.
+ */
+@Data
+public class OpeningHoursRequest {
+    @Valid private List<WeeklySlot> weekly = new ArrayList<>();
+    @Valid private List<HolidayOverride> holidays = new ArrayList<>();
+
+    @Data
+    public static class WeeklySlot {
+        @NotNull private DayOfWeek dayOfWeek;
+        @NotNull private LocalTime opensAt;
+        @NotNull private LocalTime closesAt;
+    }
+
+    @Data
+    public static class HolidayOverride {
+        @NotNull private LocalDate date;
+        private boolean closed;
+        private LocalTime opensAt;
+        private LocalTime closesAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OpeningHoursResponse {
+    private Long restaurantId;
+    private String timeZone;
+    private boolean openNow;
+    private List<OpeningHoursRequest.WeeklySlot> weekly;
+    private List<OpeningHoursRequest.HolidayOverride> holidays;
+}
@@ -0,0 +1,16 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Received from the Order Service via RabbitMQ when an order is cancelled (the fields of its OrderResponse we need).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderCancelledEvent {
+    private Long id;
+    private Long restaurantId;
+}
@@ -0,0 +1,33 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Received from the Order Service via RabbitMQ when an order is placed (the fields of its OrderResponse we need).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderPlacedEvent {
+    private Long id;
+    private Long customerId;
+    private Long restaurantId;
+    private String restaurantName;
+    private LocalDateTime createdAt;
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private Long menuItemId;
+        private String itemName;
+        private int quantity;
+    }
+}
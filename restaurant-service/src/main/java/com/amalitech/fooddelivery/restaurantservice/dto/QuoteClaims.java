@@ -0,0 +1,35 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Signed payload of a quote token: everything the Order Service snapshots onto an order.
+ * Mirrored by the Order Service, so the field names are part of the contract.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuoteClaims {
+    private Long restaurantId;
+    private String restaurantName;
+    private String restaurantAddress;
+    private int estimatedDeliveryMinutes;
+    private List<Line> lines;
+    private BigDecimal total;
+    private long expiresAt;  // epoch seconds
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Line {
+        private Long menuItemId;
+        private String itemName;
+        private int quantity;
+        private BigDecimal unitPrice;
+    }
+}
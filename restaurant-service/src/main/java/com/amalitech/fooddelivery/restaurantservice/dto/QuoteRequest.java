@@ -0,0 +1,24 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A cart to price. Lines are quoted in the order given, so the Order Service can match them to the order lines.
+ */
+@Data
+public class QuoteRequest {
+    @NotEmpty @Valid private List<Line> items = new ArrayList<>();
+
+    @Data
+    public static class Line {
+        @NotNull private Long menuItemId;
+        @Min(1) private int quantity;
+    }
+}
@@ -0,0 +1,36 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Priced cart. {@code token} carries the same lines and total, signed, and can be passed to
+ * {@code POST /api/orders} until {@code expiresAt}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuoteResponse {
+    private Long restaurantId;
+    private String restaurantName;
+    private List<Line> lines;
+    private BigDecimal total;
+    private LocalDateTime expiresAt;
+    private String token;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Line {
+        private Long menuItemId;
+        private String itemName;
+        private int quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal subtotal;
+    }
+}
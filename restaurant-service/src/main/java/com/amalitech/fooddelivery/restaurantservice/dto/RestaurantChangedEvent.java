@@ -0,0 +1,16 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published to RabbitMQ after a restaurant itself is created or modified
+ * (as opposed to one of its menu items, see {@link MenuChangedEvent}).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantChangedEvent {
+    private Long restaurantId;
+}
@@ -0,0 +1,17 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published to RabbitMQ once a new restaurant is saved. Refreshes the read models like a
+ * {@link RestaurantChangedEvent}, and the Customer Service promotes the owner to RESTAURANT_OWNER.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantCreatedEvent {
+    private Long restaurantId;
+    private Long ownerId;
+}
@@ -1,5 +1,7 @@
 package com.amalitech.fooddelivery.restaurantservice.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -12,4 +14,6 @@ public class RestaurantRequest {
     @NotBlank private String city;
     private String phone;
     private int estimatedDeliveryMinutes;
+    @DecimalMin("-90") @DecimalMax("90") private Double latitude;
+    @DecimalMin("-180") @DecimalMax("180") private Double longitude;
 }
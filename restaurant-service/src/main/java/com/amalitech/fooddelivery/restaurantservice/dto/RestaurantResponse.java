@@ -1,9 +1,14 @@
 package com.amalitech.fooddelivery.restaurantservice.dto;
 
 import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class RestaurantResponse {
     private Long id;
     private String name;
@@ -12,8 +17,11 @@ public class RestaurantResponse {
     private String address;
     private String city;
     private String phone;
+    private Double latitude;
+    private Double longitude;
     private boolean active;
     private double rating;
+    private long ratingCount;
     private int estimatedDeliveryMinutes;
     private int menuItemCount;
 
@@ -21,6 +29,10 @@ public class RestaurantResponse {
     private Long ownerId;
     private String ownerName;
 
+    // Computed per request from the opening-hours index, never cached
+    @With
+    private boolean openNow;
+
     public static RestaurantResponse fromEntity(RestaurantEntity r) {
         RestaurantResponse dto = new RestaurantResponse();
         dto.setId(r.getId());
@@ -30,8 +42,11 @@ public class RestaurantResponse {
         dto.setAddress(r.getAddress());
         dto.setCity(r.getCity());
         dto.setPhone(r.getPhone());
+        dto.setLatitude(r.getLatitude());
+        dto.setLongitude(r.getLongitude());
         dto.setActive(r.isActive());
         dto.setRating(r.getRating());
+        dto.setRatingCount(r.getRatingCount());
         dto.setEstimatedDeliveryMinutes(r.getEstimatedDeliveryMinutes());
         dto.setMenuItemCount(r.getMenuItems() != null ? r.getMenuItems().size() : 0);
         dto.setOwnerId(r.getOwnerId());
@@ -0,0 +1,17 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+public enum RestaurantRoutingKey {
+  RESTAURANT_CREATED("restaurant.created"),
+  RESTAURANT_UPDATED("restaurant.updated"),
+  MENU_UPDATED("restaurant.menu.updated");
+
+  private final String routingKey;
+
+  RestaurantRoutingKey(String routingKey) {
+    this.routingKey = routingKey;
+  }
+
+  public String getRoutingKey() {
+    return routingKey;
+  }
+}
@@ -0,0 +1,23 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Received from the Order Service via RabbitMQ when a customer reviews a delivered order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewSubmittedEvent {
+    private Long reviewId;
+    private Long orderId;
+    private Long restaurantId;
+    private Long customerId;
+    private int stars;
+    private String comment;
+    private LocalDateTime createdAt;
+}
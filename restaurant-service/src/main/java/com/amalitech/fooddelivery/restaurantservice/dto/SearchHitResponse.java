@@ -0,0 +1,27 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * A single full-text search hit, built entirely from fields stored in the in-memory index.
+ * {@code type} is either {@code RESTAURANT} or {@code MENU_ITEM}.
+ */
+@Data
+public class SearchHitResponse {
+    private String type;
+    private Long id;
+    private Long restaurantId;
+    private String restaurantName;
+    private String name;
+    private String description;
+    private String category;
+    private String city;
+    private BigDecimal price;
+    private float score;
+    // Rating of the hit's restaurant
+    private double rating;
+    // Whether the hit's restaurant is open right now
+    private boolean openNow;
+}
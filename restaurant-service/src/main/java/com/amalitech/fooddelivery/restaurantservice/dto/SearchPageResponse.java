@@ -0,0 +1,15 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchPageResponse {
+    private List<SearchHitResponse> results;
+    private long totalHits;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,25 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stock to hold for one checkout. Sent by the Order Service before it persists the order.
+ */
+@Data
+public class StockReservationRequest {
+    @NotNull private Long restaurantId;
+    @NotEmpty @Valid private List<Line> items = new ArrayList<>();
+
+    @Data
+    public static class Line {
+        @NotNull private Long menuItemId;
+        @Min(1) private int quantity;
+    }
+}
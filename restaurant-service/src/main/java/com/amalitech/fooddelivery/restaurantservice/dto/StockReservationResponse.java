@@ -0,0 +1,23 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Either a held reservation ({@code reserved}, with its id and expiry) or the items that could not be
+ * reserved, in which case nothing was held.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReservationResponse {
+    private boolean reserved;
+    private UUID reservationId;
+    private LocalDateTime expiresAt;
+    private List<Long> unavailableItemIds;
+}
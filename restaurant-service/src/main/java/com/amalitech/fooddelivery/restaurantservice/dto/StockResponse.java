@@ -0,0 +1,14 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockResponse {
+    private Long menuItemId;
+    // Units not held by open reservations; null when untracked
+    private Integer stock;
+}
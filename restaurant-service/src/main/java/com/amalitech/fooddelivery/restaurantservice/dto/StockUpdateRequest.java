@@ -0,0 +1,15 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Changes the units left for a menu item. {@code adjustment} adds (restock) or removes (write-off) units
+ * relative to the current stock and is safe while checkouts are in flight; otherwise {@code stock} sets the
+ * units left outright and a null {@code stock} stops tracking it.
+ */
+@Data
+public class StockUpdateRequest {
+    @Min(0) private Integer stock;
+    private Integer adjustment;
+}
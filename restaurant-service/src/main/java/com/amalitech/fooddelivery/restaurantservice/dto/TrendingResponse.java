@@ -0,0 +1,36 @@
+package com.amalitech.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Most ordered restaurants and dishes in a city over the trending window. Counts are approximate
+ * (count-min estimates) and may slightly over-count, never under-count.
+ */
+@Data
+@AllArgsConstructor
+public class TrendingResponse {
+    private String city;
+    private String window;
+    private List<TrendingRestaurant> restaurants;
+    private List<TrendingDish> dishes;
+
+    @Data
+    @AllArgsConstructor
+    public static class TrendingRestaurant {
+        private Long restaurantId;
+        private String name;
+        private long orders;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class TrendingDish {
+        private Long menuItemId;
+        private Long restaurantId;
+        private String name;
+        private long quantity;
+    }
+}
@@ -0,0 +1,37 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Replaces the weekly schedule for one calendar day: either closed all day or open between the given times.
+ */
+@Entity
+@Table(name = "restaurant_holiday_overrides",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"restaurant_id", "date"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayOverrideEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "restaurant_id", nullable = false)
+  private Long restaurantId;
+
+  @Column(nullable = false)
+  private LocalDate date;
+
+  private boolean closed;
+
+  private LocalTime opensAt;
+
+  private LocalTime closesAt;
+}
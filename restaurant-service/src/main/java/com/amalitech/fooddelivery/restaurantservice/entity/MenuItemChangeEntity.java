@@ -0,0 +1,49 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * State of a menu item as of the menu version in which it changed. Items are never deleted
+ * (they are hidden via {@code available}), so every change is an upsert.
+ */
+@Entity
+@Immutable
+@Table(name = "menu_item_changes",
+        indexes = @Index(name = "idx_menu_item_changes_restaurant_version", columnList = "restaurant_id, version"))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemChangeEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "restaurant_id", nullable = false)
+  private Long restaurantId;
+
+  @Column(nullable = false)
+  private long version;
+
+  @Column(nullable = false)
+  private Long menuItemId;
+
+  @Column(nullable = false)
+  private String name;
+
+  private String description;
+
+  @Column(nullable = false)
+  private BigDecimal price;
+
+  private String category;
+
+  private boolean available;
+
+  private String imageUrl;
+}
@@ -32,6 +32,9 @@ public class MenuItemEntity {
 
   private String imageUrl;
 
+  // Units left to sell, decremented by checkout reservations; null means stock is not tracked
+  private Integer stock;
+
   // ---- SAME-DOMAIN RELATIONSHIP (this is fine) ----
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,40 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per menu version of a restaurant: the version id and a hash of the full menu content at that version.
+ * The item-level changes that produced the version live in {@link MenuItemChangeEntity}.
+ */
+@Entity
+@Immutable
+@Table(name = "menu_snapshots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"restaurant_id", "version"}))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuSnapshotEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "restaurant_id", nullable = false)
+  private Long restaurantId;
+
+  @Column(nullable = false)
+  private long version;
+
+  @Column(nullable = false, length = 64)
+  private String contentHash;
+
+  private int itemCount;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One weekly opening slot. A slot whose {@code closesAt} is not after {@code opensAt} runs past midnight
+ * into the next day (equal times mean open around the clock).
+ */
+@Entity
+@Table(name = "restaurant_opening_hours",
+        indexes = @Index(name = "idx_opening_hours_restaurant", columnList = "restaurant_id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningHoursEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "restaurant_id", nullable = false)
+  private Long restaurantId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private DayOfWeek dayOfWeek;
+
+  @Column(nullable = false)
+  private LocalTime opensAt;
+
+  @Column(nullable = false)
+  private LocalTime closesAt;
+}
@@ -40,13 +40,28 @@ public class RestaurantEntity {
   private String city;
   private String phone;
 
+  // WGS84 coordinates; optional until the owner sets a location
+  private Double latitude;
+  private Double longitude;
+
   private boolean active;
 
+  // Average of ratingSum / ratingCount, maintained together with them by RatingAggregator
   @Column(nullable = false)
   private double rating;
 
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long ratingCount;
+
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long ratingSum;
+
   private int estimatedDeliveryMinutes;
 
+  // Bumped atomically on every menu write; backs the menu ETag
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long menuVersion;
+
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
@@ -56,7 +71,10 @@ public class RestaurantEntity {
   // ---- CROSS-DOMAIN RELATIONSHIPS (monolith anti-pattern) ---- (Customer is owner of restaurant, but we only store ownerId here)
   private Long ownerId;
 
-  private List<Long> orderIds = new ArrayList<>();
+  // Copy of the owner's (immutable) username for local ownership checks; null on rows created before it existed
+  private String ownerUsername;
+
+  // Orders placed here live in restaurant_orders (RestaurantOrderEntity), not on this row
 
   @PrePersist
   protected void onCreate() {
@@ -0,0 +1,31 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order placed at a restaurant, recorded from {@code order.placed} events. Kept off RestaurantEntity so
+ * restaurant reads and writes do not drag an ever-growing id list along; query it by restaurant when needed.
+ */
+@Entity
+@Immutable
+@Table(name = "restaurant_orders",
+        indexes = @Index(name = "idx_restaurant_orders_restaurant", columnList = "restaurant_id"))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantOrderEntity {
+
+  // Order Service id; as the key it makes event redelivery a no-op
+  @Id
+  private Long orderId;
+
+  @Column(name = "restaurant_id", nullable = false)
+  private Long restaurantId;
+
+  private LocalDateTime placedAt;
+}
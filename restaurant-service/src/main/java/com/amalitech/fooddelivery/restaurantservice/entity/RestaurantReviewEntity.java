@@ -0,0 +1,39 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Local record of an applied review. The unique order id makes rating updates idempotent under
+ * redelivery, and the rows are the source of truth for rating reconciliation.
+ */
+@Entity
+@Immutable
+@Table(name = "restaurant_reviews",
+        indexes = @Index(name = "idx_restaurant_reviews_restaurant", columnList = "restaurant_id"))
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantReviewEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, unique = true)
+  private Long orderId;
+
+  private Long reviewId;
+
+  @Column(name = "restaurant_id", nullable = false)
+  private Long restaurantId;
+
+  @Column(nullable = false)
+  private int stars;
+
+  private LocalDateTime reviewedAt;
+}
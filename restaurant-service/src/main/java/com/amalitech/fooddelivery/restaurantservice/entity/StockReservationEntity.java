@@ -0,0 +1,59 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One reserved line of a checkout. The stock is taken from the menu item when the row is written;
+ * status changes (commit, release, expiry) are applied by bulk statements in StockReservationRepository.
+ */
+@Entity
+@Table(name = "stock_reservations",
+        indexes = {
+                @Index(name = "idx_stock_reservations_reservation", columnList = "reservation_id"),
+                @Index(name = "idx_stock_reservations_order", columnList = "order_id")
+        })
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "reservation_id", nullable = false)
+  private UUID reservationId;
+
+  @Column(nullable = false)
+  private Long menuItemId;
+
+  @Column(nullable = false)
+  private int quantity;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Status status;
+
+  @Column(name = "order_id")
+  private Long orderId;
+
+  @Column(nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+
+  public enum Status {
+    HELD, COMMITTED, RELEASED
+  }
+}
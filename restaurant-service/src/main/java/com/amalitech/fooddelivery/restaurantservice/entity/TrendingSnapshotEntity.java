@@ -0,0 +1,28 @@
+package com.amalitech.fooddelivery.restaurantservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest serialized trending counters of one city, so a restarted instance does not start from an empty window.
+ */
+@Entity
+@Table(name = "trending_snapshots")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingSnapshotEntity {
+
+  // Upper-cased city, matching how listings compare cities
+  @Id
+  private String city;
+
+  @Column(nullable = false)
+  private byte[] data;
+
+  @Column(nullable = false)
+  private LocalDateTime takenAt;
+}
@@ -0,0 +1,18 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.HolidayOverrideEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayOverrideRepository extends JpaRepository<HolidayOverrideEntity, Long> {
+    List<HolidayOverrideEntity> findByDateGreaterThanEqual(LocalDate date);
+    List<HolidayOverrideEntity> findByRestaurantIdAndDateGreaterThanEqualOrderByDate(Long restaurantId, LocalDate date);
+
+    @Modifying
+    @Query("delete from HolidayOverrideEntity o where o.restaurantId = :restaurantId")
+    int deleteByRestaurantId(Long restaurantId);
+}
@@ -0,0 +1,16 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemChangeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface MenuItemChangeRepository extends JpaRepository<MenuItemChangeEntity, Long> {
+    List<MenuItemChangeEntity> findByRestaurantIdAndVersionBetweenOrderByVersionAsc(Long restaurantId, long fromVersion, long toVersion);
+
+    @Modifying
+    @Query("delete from MenuItemChangeEntity c where c.restaurantId = :restaurantId and c.version <= :version")
+    int deleteUpToVersion(Long restaurantId, long version);
+}
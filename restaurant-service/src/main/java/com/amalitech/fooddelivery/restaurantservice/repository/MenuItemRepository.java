@@ -2,11 +2,43 @@ package com.amalitech.fooddelivery.restaurantservice.repository;
 
 import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MenuItemRepository extends JpaRepository<MenuItemEntity, Long> {
     List<MenuItemEntity> findByRestaurantIdAndAvailableTrue(Long restaurantId);
     List<MenuItemEntity> findByRestaurantId(Long restaurantId);
     List<MenuItemEntity> findByRestaurantIdAndCategory(Long restaurantId, String category);
+    List<MenuItemEntity> findByRestaurantIdAndIdIn(Long restaurantId, Collection<Long> ids);
+
+    @Query("select coalesce(max(m.id), 0) from MenuItemEntity m where m.restaurant.id = :restaurantId")
+    long findMaxIdByRestaurantId(Long restaurantId);
+
+    /**
+     * Takes {@code quantity} units in a single conditional UPDATE; the row lock serialises concurrent
+     * checkouts of the same item and the predicate stops stock going negative. Untracked (null) stock
+     * stays null and always succeeds. Returns 0 when the item is missing, unavailable or short.
+     */
+    @Modifying
+    @Query("""
+            update MenuItemEntity m set m.stock = m.stock - :quantity
+            where m.id = :id and m.restaurant.id = :restaurantId and m.available = true
+              and (m.stock is null or m.stock >= :quantity)""")
+    int reserveStock(Long id, Long restaurantId, int quantity);
+
+    /**
+     * Adds {@code delta} units (negative to remove) in place, so units reserved meanwhile are kept.
+     * Returns 0 when the item is missing, its stock is untracked or the result would be negative.
+     */
+    @Modifying
+    @Query("""
+            update MenuItemEntity m set m.stock = m.stock + :delta
+            where m.id = :id and m.stock is not null and m.stock + :delta >= 0""")
+    int adjustStock(Long id, int delta);
+
+    @Query("select m.stock from MenuItemEntity m where m.id = :id")
+    Integer findStockById(Long id);
 }
@@ -0,0 +1,17 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface MenuSnapshotRepository extends JpaRepository<MenuSnapshotEntity, Long> {
+    Optional<MenuSnapshotEntity> findFirstByRestaurantIdOrderByVersionDesc(Long restaurantId);
+    Optional<MenuSnapshotEntity> findFirstByRestaurantIdOrderByVersionAsc(Long restaurantId);
+
+    @Modifying
+    @Query("delete from MenuSnapshotEntity s where s.restaurantId = :restaurantId and s.version <= :version")
+    int deleteUpToVersion(Long restaurantId, long version);
+}
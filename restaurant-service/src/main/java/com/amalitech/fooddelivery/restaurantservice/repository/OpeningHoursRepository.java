@@ -0,0 +1,16 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.OpeningHoursEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OpeningHoursRepository extends JpaRepository<OpeningHoursEntity, Long> {
+    List<OpeningHoursEntity> findByRestaurantId(Long restaurantId);
+
+    @Modifying
+    @Query("delete from OpeningHoursEntity h where h.restaurantId = :restaurantId")
+    int deleteByRestaurantId(Long restaurantId);
+}
@@ -0,0 +1,7 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantOrderEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RestaurantOrderRepository extends JpaRepository<RestaurantOrderEntity, Long> {
+}
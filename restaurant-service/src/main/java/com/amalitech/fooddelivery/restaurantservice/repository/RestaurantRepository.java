@@ -1,14 +1,52 @@
 package com.amalitech.fooddelivery.restaurantservice.repository;
 
 import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RestaurantRepository extends JpaRepository<RestaurantEntity, Long> {
-    List<RestaurantEntity> findByActiveTrue();
-    List<RestaurantEntity> findByCityIgnoreCaseAndActiveTrue(String city);
-    List<RestaurantEntity> findByCuisineTypeIgnoreCaseAndActiveTrue(String cuisineType);
+    List<RestaurantEntity> findByActiveTrue(Sort sort);
+    List<RestaurantEntity> findByCityIgnoreCaseAndActiveTrue(String city, Sort sort);
+    List<RestaurantEntity> findByCuisineTypeIgnoreCaseAndActiveTrue(String cuisineType, Sort sort);
     // MONOLITH: cross-domain query using Customer (owner) relationship
     List<RestaurantEntity> findByOwnerId(Long ownerId);
+    List<RestaurantEntity> findByLatitudeIsNotNullAndLongitudeIsNotNull();
+
+    @Query("select r.city from RestaurantEntity r where r.id = :id")
+    Optional<String> findCityById(Long id);
+
+    @Query("select r.menuVersion from RestaurantEntity r where r.id = :id")
+    Optional<Long> findMenuVersionById(Long id);
+
+    @Modifying
+    @Query("update RestaurantEntity r set r.menuVersion = r.menuVersion + 1 where r.id = :id")
+    int incrementMenuVersion(Long id);
+
+    // Right-hand sides see the pre-update row, so count, sum and average move together in one statement
+    @Modifying
+    @Query("update RestaurantEntity r set r.ratingCount = r.ratingCount + 1, r.ratingSum = r.ratingSum + :stars, "
+            + "r.rating = (r.ratingSum + :stars) * 1.0 / (r.ratingCount + 1) where r.id = :id")
+    int applyRating(Long id, int stars);
+
+    @Query(nativeQuery = true, value = "select r.id from restaurants r "
+            + "join (select restaurant_id, count(*) as review_count, sum(stars) as star_sum "
+            + "from restaurant_reviews group by restaurant_id) agg on agg.restaurant_id = r.id "
+            + "where r.rating_count <> agg.review_count or r.rating_sum <> agg.star_sum")
+    List<Long> findIdsWithRatingDrift();
+
+    // Recomputed from the reviews in the statement itself, so reviews applied since the drift check are counted
+    @Modifying
+    @Query(nativeQuery = true, value = "update restaurants r set rating_count = agg.review_count, "
+            + "rating_sum = agg.star_sum, rating = agg.star_sum::float8 / agg.review_count "
+            + "from (select restaurant_id, count(*) as review_count, sum(stars) as star_sum "
+            + "from restaurant_reviews where restaurant_id in (:ids) group by restaurant_id) agg "
+            + "where agg.restaurant_id = r.id "
+            + "and (r.rating_count <> agg.review_count or r.rating_sum <> agg.star_sum)")
+    int reconcileRatings(Collection<Long> ids);
 }
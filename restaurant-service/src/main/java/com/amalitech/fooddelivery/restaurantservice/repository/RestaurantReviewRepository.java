@@ -0,0 +1,8 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantReviewEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RestaurantReviewRepository extends JpaRepository<RestaurantReviewEntity, Long> {
+    boolean existsByOrderId(Long orderId);
+}
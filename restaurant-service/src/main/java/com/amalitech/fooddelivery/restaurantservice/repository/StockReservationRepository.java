@@ -0,0 +1,62 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.StockReservationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The release statements flip the reservation rows and return their quantities to the menu items in
+ * one statement, so a reservation released concurrently by a cancellation and by expiry is only
+ * returned once: the second UPDATE re-checks the status after the first commits and matches nothing.
+ */
+public interface StockReservationRepository extends JpaRepository<StockReservationEntity, Long> {
+
+    @Modifying
+    @Query("""
+            update StockReservationEntity r
+            set r.status = com.amalitech.fooddelivery.restaurantservice.entity.StockReservationEntity.Status.COMMITTED,
+                r.orderId = :orderId
+            where r.reservationId = :reservationId
+              and r.status = com.amalitech.fooddelivery.restaurantservice.entity.StockReservationEntity.Status.HELD""")
+    int commit(UUID reservationId, Long orderId);
+
+    boolean existsByReservationIdAndOrderIdAndStatus(UUID reservationId, Long orderId,
+                                                     StockReservationEntity.Status status);
+
+    @Modifying
+    @Query(value = """
+            with released as (
+                update stock_reservations set status = 'RELEASED'
+                where reservation_id = :reservationId and status = 'HELD'
+                returning menu_item_id, quantity)
+            update menu_items m set stock = m.stock + r.quantity
+            from (select menu_item_id, sum(quantity) as quantity from released group by menu_item_id) r
+            where m.id = r.menu_item_id""", nativeQuery = true)
+    int releaseHeld(UUID reservationId);
+
+    @Modifying
+    @Query(value = """
+            with released as (
+                update stock_reservations set status = 'RELEASED'
+                where order_id = :orderId and status = 'COMMITTED'
+                returning menu_item_id, quantity)
+            update menu_items m set stock = m.stock + r.quantity
+            from (select menu_item_id, sum(quantity) as quantity from released group by menu_item_id) r
+            where m.id = r.menu_item_id""", nativeQuery = true)
+    int releaseCommitted(Long orderId);
+
+    @Modifying
+    @Query(value = """
+            with released as (
+                update stock_reservations set status = 'RELEASED'
+                where status = 'HELD' and expires_at < :now
+                returning menu_item_id, quantity)
+            update menu_items m set stock = m.stock + r.quantity
+            from (select menu_item_id, sum(quantity) as quantity from released group by menu_item_id) r
+            where m.id = r.menu_item_id""", nativeQuery = true)
+    int releaseExpired(LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.amalitech.fooddelivery.restaurantservice.repository;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.TrendingSnapshotEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface TrendingSnapshotRepository extends JpaRepository<TrendingSnapshotEntity, String> {
+
+    // Instances merging into the same city's snapshot take turns instead of overwriting each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from TrendingSnapshotEntity s where s.city = :city")
+    Optional<TrendingSnapshotEntity> findForUpdate(String city);
+}
@@ -2,6 +2,7 @@ package com.amalitech.fooddelivery.restaurantservice.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -25,6 +26,8 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)  // Disable if not needed
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/api/restaurants/actuator/**").permitAll()
+                    // Served to anonymous callers from the gateway's shared response cache, so they must not depend on the caller
+                    .requestMatchers(HttpMethod.GET, "/api/restaurants/search/**", "/api/restaurants/*/menu").permitAll()
                     .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
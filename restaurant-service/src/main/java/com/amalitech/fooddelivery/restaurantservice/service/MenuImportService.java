@@ -0,0 +1,248 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuImportResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuItemRequest;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk menu import for onboarding.
+ *
+ * The body is read line by line (NDJSON, or CSV with a header row), so only the parsed rows (at most
+ * {@code max-rows}) are held, never the raw upload. Ownership is checked once, each row is validated with the
+ * same constraints as the single-item endpoint, and only then are the valid rows written through batched JDBC
+ * inserts in one short transaction, so a slow upload never holds a connection. Invalid rows are skipped and
+ * reported; the rows that were accepted are committed together and recorded as a single menu version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String INSERT_SQL = "insert into menu_items "
+            + "(name, description, price, category, image_url, available, restaurant_id) "
+            + "values (?, ?, ?, ?, ?, true, ?)";
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantOwnership restaurantOwnership;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final MenuItemRepository menuItemRepository;
+    private final MenuSnapshotService menuSnapshotService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.menu-import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.menu-import.max-rows:10000}")
+    private int maxRows;
+
+    public MenuImportResponse importMenu(Long restaurantId, String ownerUsername, MediaType contentType, InputStream body) {
+        // Short transactions around the slow upload, so no connection or row lock waits on the client
+        transactionTemplate.executeWithoutResult(status -> {
+            RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+            restaurantOwnership.check(restaurant, ownerUsername);
+        });
+
+        ImportProgress progress = new ImportProgress();
+        List<MenuItemRequest> items = parse(restaurantId, contentType, body, progress);
+        if (!items.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> insert(restaurantId, items, progress));
+        }
+
+        log.info("Menu import for restaurant {} finished: {} imported, {} rejected",
+                restaurantId, progress.imported, progress.rejected);
+        return new MenuImportResponse(progress.imported, progress.rejected, progress.errors);
+    }
+
+    /**
+     * Reads and validates every row; rejected rows are recorded in {@code progress}.
+     */
+    private List<MenuItemRequest> parse(Long restaurantId, MediaType contentType, InputStream body,
+                                        ImportProgress progress) {
+        boolean csv = contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+        List<MenuItemRequest> items = new ArrayList<>();
+        Map<String, Integer> csvColumns = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && csvColumns == null) {
+                    csvColumns = parseCsvHeader(line);
+                    continue;
+                }
+                if (progress.rows++ >= maxRows) {
+                    throw new IllegalStateException("Menu import is limited to " + maxRows + " items");
+                }
+
+                MenuItemRequest item;
+                try {
+                    item = csv ? parseCsvRow(line, csvColumns) : jsonMapper.readValue(line, MenuItemRequest.class);
+                } catch (JacksonException e) {
+                    progress.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    progress.reject(lineNumber, e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<MenuItemRequest>> violations = validator.validate(item);
+                if (!violations.isEmpty()) {
+                    progress.reject(lineNumber, violations.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+                items.add(item);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read menu import for restaurant " + restaurantId, e);
+        }
+
+        if (csv && csvColumns == null) {
+            throw new IllegalStateException("CSV import requires a header row");
+        }
+        return items;
+    }
+
+    private void insert(Long restaurantId, List<MenuItemRequest> items, ImportProgress progress) {
+        long previousMaxItemId = menuItemRepository.findMaxIdByRestaurantId(restaurantId);
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, batchSize, (ps, item) -> {
+            ps.setString(1, item.getName());
+            ps.setString(2, item.getDescription());
+            ps.setBigDecimal(3, item.getPrice());
+            ps.setString(4, item.getCategory());
+            ps.setString(5, item.getImageUrl());
+            ps.setLong(6, restaurantId);
+        });
+        progress.imported = items.size();
+        menuSnapshotService.recordImport(restaurantId, previousMaxItemId);
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new IllegalStateException("CSV header must include name and price columns");
+        }
+        return columns;
+    }
+
+    private static MenuItemRequest parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        MenuItemRequest item = new MenuItemRequest();
+        item.setName(column(values, columns, "name"));
+        item.setDescription(column(values, columns, "description"));
+        item.setCategory(column(values, columns, "category"));
+        item.setImageUrl(column(values, columns, "imageurl"));
+        String price = column(values, columns, "price");
+        if (price != null) {
+            try {
+                item.setPrice(new BigDecimal(price));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("price is not a number: " + price);
+            }
+        }
+        return item;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 field splitting for a single line: quoted fields may contain commas and doubled quotes,
+     * but not line breaks.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class ImportProgress {
+        private int rows;
+        private int imported;
+        private int rejected;
+        private final List<MenuImportResponse.RowError> errors = new ArrayList<>();
+
+        private void reject(int line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MenuImportResponse.RowError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuChangedEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuDeltaResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuItemResponse;
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemChangeEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuSnapshotEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemChangeRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuSnapshotRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Versioned menu history.
+ *
+ * Every menu write goes through {@link #recordItemChange} or {@link #recordImport} inside the writing transaction:
+ * the restaurant's menu version is bumped (the row lock serializes concurrent writers), an immutable snapshot row
+ * with the content hash is stored together with the changed item states, and a MenuChangedEvent carrying the delta
+ * is published. Clients sync with {@link #getChangesSince} instead of re-fetching whole menus.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuSnapshotService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final MenuSnapshotRepository snapshotRepository;
+    private final MenuItemChangeRepository changeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.menu-snapshots.retained-versions:200}")
+    private int retainedVersions;
+
+    @Transactional
+    public void recordItemChange(Long restaurantId, Long menuItemId) {
+        record(restaurantId, item -> item.getId().equals(menuItemId));
+    }
+
+    /**
+     * Records a bulk import as one version whose delta is every item inserted after {@code previousMaxItemId}.
+     */
+    @Transactional
+    public void recordImport(Long restaurantId, long previousMaxItemId) {
+        record(restaurantId, item -> item.getId() > previousMaxItemId);
+    }
+
+    /**
+     * Items changed after {@code sinceVersion}, collapsed to their latest state. Falls back to the full menu
+     * (including unavailable items) when {@code sinceVersion} is older than the retained history or unknown.
+     */
+    @Transactional(readOnly = true)
+    public MenuDeltaResponse getChangesSince(Long restaurantId, long sinceVersion) {
+        RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+
+        // Version and hash come from the same snapshot row so they always describe the same menu
+        MenuSnapshotEntity latest = snapshotRepository.findFirstByRestaurantIdOrderByVersionDesc(restaurantId).orElse(null);
+        if (latest == null || sinceVersion < 0 || sinceVersion > latest.getVersion()
+                || sinceVersion < oldestRetainedVersion(restaurantId) - 1) {
+            return fullMenu(restaurant, sinceVersion);
+        }
+        if (sinceVersion == latest.getVersion()) {
+            return new MenuDeltaResponse(restaurantId, sinceVersion, latest.getVersion(), latest.getContentHash(),
+                    false, List.of());
+        }
+
+        Map<Long, MenuItemChangeEntity> changes = new LinkedHashMap<>();
+        for (MenuItemChangeEntity change : changeRepository.findByRestaurantIdAndVersionBetweenOrderByVersionAsc(
+                restaurantId, sinceVersion + 1, latest.getVersion())) {
+            changes.put(change.getMenuItemId(), change);
+        }
+        List<MenuItemResponse> items = changes.values().stream()
+                .sorted(Comparator.comparing(MenuItemChangeEntity::getMenuItemId))
+                .map(change -> toResponse(change, restaurant))
+                .toList();
+        return new MenuDeltaResponse(restaurantId, sinceVersion, latest.getVersion(), latest.getContentHash(),
+                false, items);
+    }
+
+    private void record(Long restaurantId, Predicate<MenuItemEntity> changed) {
+        restaurantRepository.incrementMenuVersion(restaurantId);
+        long version = restaurantRepository.findMenuVersionById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+
+        List<MenuItemEntity> menu = sorted(menuItemRepository.findByRestaurantId(restaurantId));
+        List<MenuItemEntity> changedItems = menu.stream().filter(changed).toList();
+        String hash = contentHash(menu);
+
+        snapshotRepository.save(MenuSnapshotEntity.builder()
+                .restaurantId(restaurantId)
+                .version(version)
+                .contentHash(hash)
+                .itemCount(menu.size())
+                .createdAt(LocalDateTime.now())
+                .build());
+        changeRepository.saveAll(changedItems.stream().map(item -> toChange(item, version)).toList());
+
+        if (version > retainedVersions) {
+            snapshotRepository.deleteUpToVersion(restaurantId, version - retainedVersions);
+            changeRepository.deleteUpToVersion(restaurantId, version - retainedVersions);
+        }
+
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId, version, hash,
+                changedItems.stream().map(MenuItemResponse::fromEntity).toList()));
+        log.debug("Menu of restaurant {} is now version {} ({} items changed)", restaurantId, version, changedItems.size());
+    }
+
+    private long oldestRetainedVersion(Long restaurantId) {
+        return snapshotRepository.findFirstByRestaurantIdOrderByVersionAsc(restaurantId)
+                .map(MenuSnapshotEntity::getVersion)
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private MenuDeltaResponse fullMenu(RestaurantEntity restaurant, long sinceVersion) {
+        // Also covers menus that predate snapshots: hash the live menu
+        List<MenuItemEntity> items = sorted(menuItemRepository.findByRestaurantId(restaurant.getId()));
+        return new MenuDeltaResponse(restaurant.getId(), sinceVersion, restaurant.getMenuVersion(), contentHash(items),
+                true, items.stream().map(MenuItemResponse::fromEntity).toList());
+    }
+
+    /**
+     * SHA-256 over the items in id order. Prices are normalised so 12.9 and 12.90 hash the same.
+     */
+    static String contentHash(List<MenuItemEntity> itemsById) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (MenuItemEntity item : itemsById) {
+            String line = item.getId() + "|" + item.getName() + "|" + Objects.toString(item.getDescription(), "")
+                    + "|" + normalise(item.getPrice()) + "|" + Objects.toString(item.getCategory(), "")
+                    + "|" + item.isAvailable() + "|" + Objects.toString(item.getImageUrl(), "") + "\n";
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String normalise(BigDecimal price) {
+        return price == null ? "" : price.stripTrailingZeros().toPlainString();
+    }
+
+    private static List<MenuItemEntity> sorted(List<MenuItemEntity> items) {
+        return items.stream().sorted(Comparator.comparing(MenuItemEntity::getId)).toList();
+    }
+
+    private static MenuItemChangeEntity toChange(MenuItemEntity item, long version) {
+        return MenuItemChangeEntity.builder()
+                .restaurantId(item.getRestaurant().getId())
+                .version(version)
+                .menuItemId(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .price(item.getPrice())
+                .category(item.getCategory())
+                .available(item.isAvailable())
+                .imageUrl(item.getImageUrl())
+                .build();
+    }
+
+    private static MenuItemResponse toResponse(MenuItemChangeEntity change, RestaurantEntity restaurant) {
+        MenuItemResponse dto = new MenuItemResponse();
+        dto.setId(change.getMenuItemId());
+        dto.setName(change.getName());
+        dto.setDescription(change.getDescription());
+        dto.setPrice(change.getPrice());
+        dto.setCategory(change.getCategory());
+        dto.setAvailable(change.isAvailable());
+        dto.setImageUrl(change.getImageUrl());
+        dto.setRestaurantId(restaurant.getId());
+        dto.setRestaurantName(restaurant.getName());
+        return dto;
+    }
+}
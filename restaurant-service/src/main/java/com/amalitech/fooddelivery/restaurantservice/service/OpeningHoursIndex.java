@@ -0,0 +1,165 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.HolidayOverrideEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.OpeningHoursEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.HolidayOverrideRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.OpeningHoursRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory opening-hours lookup.
+ *
+ * Each restaurant's weekly slots are compiled into a minute-of-week bitset (10,080 bits) of each day's
+ * own hours plus one of the hours running past midnight into the next day, and each upcoming holiday
+ * override into a two-day bitset: the first day replaces the weekly hours of that date, the second holds
+ * its hours past midnight. A date's own hours and the previous date's overnight hours are looked up
+ * separately, so an override replaces exactly its date: the night after a closed holiday stays closed,
+ * and yesterday's weekly overnight slot still runs into an overridden morning. "Is open at t" is then a
+ * map lookup plus one or two bit tests, cheap enough to run for every row of a listing. Compiled schedules are immutable and swapped in whole, so readers never see a
+ * half-built one. Restaurants without weekly slots are open all week outside their overrides; those with
+ * neither are not indexed and always open. Kept in sync by RestaurantChangeListener.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OpeningHoursIndex {
+
+  private static final int MINUTES_PER_DAY = 24 * 60;
+  private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+  private final OpeningHoursRepository openingHoursRepository;
+  private final HolidayOverrideRepository holidayOverrideRepository;
+
+  @Value("${app.opening-hours.zone:Africa/Accra}")
+  private ZoneId zone;
+
+  private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+
+  /**
+   * @param overnight weekly hours past midnight, at the minutes of the morning they run into
+   */
+  private record Schedule(BitSet week, BitSet overnight, Map<LocalDate, BitSet> holidays) {
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    Map<Long, List<OpeningHoursEntity>> slots = openingHoursRepository.findAll().stream()
+            .collect(Collectors.groupingBy(OpeningHoursEntity::getRestaurantId));
+    Map<Long, List<HolidayOverrideEntity>> holidays = holidayOverrideRepository.findByDateGreaterThanEqual(yesterday())
+            .stream().collect(Collectors.groupingBy(HolidayOverrideEntity::getRestaurantId));
+    schedules.clear();
+    Set<Long> restaurantIds = new HashSet<>(slots.keySet());
+    restaurantIds.addAll(holidays.keySet());
+    restaurantIds.forEach(restaurantId -> schedules.put(restaurantId,
+            compile(slots.getOrDefault(restaurantId, List.of()), holidays.getOrDefault(restaurantId, List.of()))));
+    log.info("Opening hours compiled for {} restaurants", schedules.size());
+  }
+
+  public void refresh(Long restaurantId) {
+    List<OpeningHoursEntity> slots = openingHoursRepository.findByRestaurantId(restaurantId);
+    List<HolidayOverrideEntity> overrides =
+            holidayOverrideRepository.findByRestaurantIdAndDateGreaterThanEqualOrderByDate(restaurantId, yesterday());
+    if (slots.isEmpty() && overrides.isEmpty()) {
+      schedules.remove(restaurantId);
+      return;
+    }
+    schedules.put(restaurantId, compile(slots, overrides));
+  }
+
+  /**
+   * Current time in the platform zone; take it once and pass it to {@link #isOpenAt} when checking many restaurants.
+   */
+  public ZonedDateTime now() {
+    return ZonedDateTime.now(zone);
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  public boolean isOpenNow(Long restaurantId) {
+    return isOpenAt(restaurantId, now());
+  }
+
+  public boolean isOpenAt(Long restaurantId, ZonedDateTime time) {
+    Schedule schedule = schedules.get(restaurantId);
+    if (schedule == null) {
+      return true;
+    }
+    ZonedDateTime local = time.withZoneSameInstant(zone);
+    int minuteOfDay = local.getHour() * 60 + local.getMinute();
+    int minuteOfWeek = (local.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    LocalDate date = local.toLocalDate();
+    BitSet holiday = schedule.holidays().get(date);
+    if (holiday != null ? holiday.get(minuteOfDay) : schedule.week().get(minuteOfWeek)) {
+      return true;
+    }
+    // Yesterday's hours past midnight, from its override if it has one
+    BitSet eve = schedule.holidays().get(date.minusDays(1));
+    return eve != null ? eve.get(MINUTES_PER_DAY + minuteOfDay) : schedule.overnight().get(minuteOfWeek);
+  }
+
+  private Schedule compile(List<OpeningHoursEntity> slots, List<HolidayOverrideEntity> overrides) {
+    BitSet week = new BitSet(MINUTES_PER_WEEK);
+    BitSet overnight = new BitSet(MINUTES_PER_WEEK);
+    if (slots.isEmpty()) {
+      // Only overrides: open all week outside them
+      week.set(0, MINUTES_PER_WEEK);
+    }
+    for (OpeningHoursEntity slot : slots) {
+      int start = (slot.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + minuteOfDay(slot.getOpensAt());
+      int length = minuteOfDay(slot.getClosesAt()) - minuteOfDay(slot.getOpensAt());
+      if (length <= 0) {
+        length += MINUTES_PER_DAY;
+      }
+      int end = start + length;
+      int midnight = slot.getDayOfWeek().getValue() * MINUTES_PER_DAY;
+      week.set(start, Math.min(end, midnight));
+      if (end > midnight) {
+        // Sunday-night slots wrap around to Monday morning
+        int morning = midnight % MINUTES_PER_WEEK;
+        overnight.set(morning, morning + end - midnight);
+      }
+    }
+
+    Map<LocalDate, BitSet> holidays = new HashMap<>();
+    for (HolidayOverrideEntity override : overrides) {
+      BitSet day = new BitSet(2 * MINUTES_PER_DAY);
+      if (!override.isClosed()) {
+        int start = minuteOfDay(override.getOpensAt());
+        int end = minuteOfDay(override.getClosesAt());
+        // Closing at or before opening runs past midnight into the next day's bits
+        day.set(start, end > start ? end : end + MINUTES_PER_DAY);
+      }
+      holidays.put(override.getDate(), day);
+    }
+    return new Schedule(week, overnight, Map.copyOf(holidays));
+  }
+
+  // Yesterday's override still decides this morning's overnight hours
+  private LocalDate yesterday() {
+    return LocalDate.now(zone).minusDays(1);
+  }
+
+  private static int minuteOfDay(LocalTime time) {
+    return time.getHour() * 60 + time.getMinute();
+  }
+}
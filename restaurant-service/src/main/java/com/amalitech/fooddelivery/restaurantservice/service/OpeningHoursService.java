@@ -0,0 +1,128 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.OpeningHoursRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.OpeningHoursResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantChangedEvent;
+import com.amalitech.fooddelivery.restaurantservice.entity.HolidayOverrideEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.OpeningHoursEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.restaurantservice.repository.HolidayOverrideRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.OpeningHoursRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores opening hours. Lookups go through the compiled OpeningHoursIndex; writes publish a
+ * RestaurantChangedEvent so every instance recompiles the restaurant's schedule.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OpeningHoursService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final OpeningHoursRepository openingHoursRepository;
+    private final HolidayOverrideRepository holidayOverrideRepository;
+    private final OpeningHoursIndex openingHoursIndex;
+    private final RestaurantOwnership restaurantOwnership;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public OpeningHoursResponse getHours(Long restaurantId) {
+        RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+        return toResponse(restaurant);
+    }
+
+    @Transactional
+    public OpeningHoursResponse updateHours(Long restaurantId, String ownerUsername, OpeningHoursRequest request) {
+        RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+
+        restaurantOwnership.check(restaurant, ownerUsername);
+
+        LocalDate today = LocalDate.now(openingHoursIndex.getZone());
+        Set<LocalDate> dates = new HashSet<>();
+        for (OpeningHoursRequest.HolidayOverride holiday : request.getHolidays()) {
+            if (holiday.getDate().isBefore(today)) {
+                throw new IllegalStateException("Holiday override " + holiday.getDate() + " is in the past");
+            }
+            if (!dates.add(holiday.getDate())) {
+                throw new IllegalStateException("Duplicate holiday override for " + holiday.getDate());
+            }
+            if (!holiday.isClosed() && (holiday.getOpensAt() == null || holiday.getClosesAt() == null)) {
+                throw new IllegalStateException("Holiday override " + holiday.getDate()
+                        + " needs opensAt and closesAt unless closed");
+            }
+        }
+
+        openingHoursRepository.deleteByRestaurantId(restaurantId);
+        holidayOverrideRepository.deleteByRestaurantId(restaurantId);
+        openingHoursRepository.saveAll(request.getWeekly().stream()
+                .map(slot -> OpeningHoursEntity.builder()
+                        .restaurantId(restaurantId)
+                        .dayOfWeek(slot.getDayOfWeek())
+                        .opensAt(slot.getOpensAt())
+                        .closesAt(slot.getClosesAt())
+                        .build())
+                .toList());
+        holidayOverrideRepository.saveAll(request.getHolidays().stream()
+                .map(holiday -> HolidayOverrideEntity.builder()
+                        .restaurantId(restaurantId)
+                        .date(holiday.getDate())
+                        .closed(holiday.isClosed())
+                        .opensAt(holiday.isClosed() ? null : holiday.getOpensAt())
+                        .closesAt(holiday.isClosed() ? null : holiday.getClosesAt())
+                        .build())
+                .toList());
+
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        log.info("Opening hours of restaurant {} replaced: {} weekly slots, {} holiday overrides",
+                restaurantId, request.getWeekly().size(), request.getHolidays().size());
+        return toResponse(restaurant, request.getWeekly(), request.getHolidays());
+    }
+
+    private OpeningHoursResponse toResponse(RestaurantEntity restaurant) {
+        List<OpeningHoursRequest.WeeklySlot> weekly = openingHoursRepository.findByRestaurantId(restaurant.getId())
+                .stream()
+                .map(slot -> {
+                    OpeningHoursRequest.WeeklySlot dto = new OpeningHoursRequest.WeeklySlot();
+                    dto.setDayOfWeek(slot.getDayOfWeek());
+                    dto.setOpensAt(slot.getOpensAt());
+                    dto.setClosesAt(slot.getClosesAt());
+                    return dto;
+                })
+                .toList();
+        List<OpeningHoursRequest.HolidayOverride> holidays = holidayOverrideRepository
+                .findByRestaurantIdAndDateGreaterThanEqualOrderByDate(restaurant.getId(),
+                        LocalDate.now(openingHoursIndex.getZone()))
+                .stream()
+                .map(override -> {
+                    OpeningHoursRequest.HolidayOverride dto = new OpeningHoursRequest.HolidayOverride();
+                    dto.setDate(override.getDate());
+                    dto.setClosed(override.isClosed());
+                    dto.setOpensAt(override.getOpensAt());
+                    dto.setClosesAt(override.getClosesAt());
+                    return dto;
+                })
+                .toList();
+        return toResponse(restaurant, weekly, holidays);
+    }
+
+    private OpeningHoursResponse toResponse(RestaurantEntity restaurant, List<OpeningHoursRequest.WeeklySlot> weekly,
+                                            List<OpeningHoursRequest.HolidayOverride> holidays) {
+        // openNow reflects the compiled index, which picks up a fresh write once its transaction commits
+        return new OpeningHoursResponse(restaurant.getId(), openingHoursIndex.getZone().getId(),
+                restaurant.isActive() && openingHoursIndex.isOpenNow(restaurant.getId()), weekly, holidays);
+    }
+}
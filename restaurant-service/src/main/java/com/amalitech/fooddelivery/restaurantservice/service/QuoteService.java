@@ -0,0 +1,113 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.QuoteClaims;
+import com.amalitech.fooddelivery.restaurantservice.dto.QuoteRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.QuoteResponse;
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side cart pricing.
+ *
+ * The whole cart is checked against the menu in one query (every item must exist, belong to the restaurant
+ * and be available) and priced here, so the client never supplies a price. The result is signed into a
+ * short-lived token with a secret shared with the Order Service, which then places the order from the
+ * token instead of fetching the restaurant and every menu item again.
+ */
+@Service
+@RequiredArgsConstructor
+public class QuoteService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OpeningHoursIndex openingHoursIndex;
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.quote.secret}")
+    private String secret;
+
+    @Value("${app.quote.ttl:PT5M}")
+    private Duration ttl;
+
+    @Transactional(readOnly = true)
+    public QuoteResponse quote(Long restaurantId, QuoteRequest request) {
+        RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+        if (!restaurant.isActive()) {
+            throw new IllegalStateException("Restaurant is currently not accepting orders");
+        }
+        if (!openingHoursIndex.isOpenNow(restaurantId)) {
+            throw new IllegalStateException("Restaurant '" + restaurant.getName() + "' is closed right now");
+        }
+
+        List<Long> ids = request.getItems().stream().map(QuoteRequest.Line::getMenuItemId).distinct().toList();
+        Map<Long, MenuItemEntity> items = menuItemRepository.findByRestaurantIdAndIdIn(restaurantId, ids).stream()
+                .collect(Collectors.toMap(MenuItemEntity::getId, Function.identity()));
+
+        List<QuoteResponse.Line> lines = new ArrayList<>();
+        List<QuoteClaims.Line> claimLines = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (QuoteRequest.Line line : request.getItems()) {
+            MenuItemEntity item = items.get(line.getMenuItemId());
+            if (item == null) {
+                throw new IllegalStateException("Menu item " + line.getMenuItemId()
+                        + " does not belong to restaurant '" + restaurant.getName() + "'");
+            }
+            if (!item.isAvailable()) {
+                throw new IllegalStateException("Menu item '" + item.getName() + "' is not available");
+            }
+            BigDecimal subtotal = item.getPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
+            lines.add(new QuoteResponse.Line(item.getId(), item.getName(), line.getQuantity(), item.getPrice(), subtotal));
+            claimLines.add(new QuoteClaims.Line(item.getId(), item.getName(), line.getQuantity(), item.getPrice()));
+            total = total.add(subtotal);
+        }
+
+        Instant expiresAt = Instant.now().plus(ttl);
+        QuoteClaims claims = new QuoteClaims(restaurant.getId(), restaurant.getName(), restaurant.getAddress(),
+                restaurant.getEstimatedDeliveryMinutes(), claimLines, total, expiresAt.getEpochSecond());
+
+        return new QuoteResponse(restaurant.getId(), restaurant.getName(), lines, total,
+                LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), sign(claims));
+    }
+
+    /**
+     * {@code base64url(json) + "." + base64url(HMAC-SHA256(base64url(json)))}.
+     */
+    private String sign(QuoteClaims claims) {
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(jsonMapper.writeValueAsBytes(claims));
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign quote", e);
+        }
+    }
+}
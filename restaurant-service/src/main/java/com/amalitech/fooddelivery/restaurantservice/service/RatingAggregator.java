@@ -0,0 +1,76 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.config.RestaurantQueueConfig;
+import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantChangedEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.ReviewSubmittedEvent;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantReviewEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps restaurant ratings current from review events.
+ *
+ * Each review adds to a running count and star sum on the restaurant row in a single UPDATE, so the
+ * average never has to be recomputed over all reviews. The review is recorded in the same transaction;
+ * its unique order id turns redeliveries into no-ops. A periodic reconciliation recomputes the counters
+ * from the recorded reviews, fixes any drift and announces the corrected restaurants like any other change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingAggregator {
+
+  private final RestaurantRepository restaurantRepository;
+  private final RestaurantReviewRepository reviewRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @RabbitListener(queues = RestaurantQueueConfig.REVIEW_QUEUE)
+  @Transactional
+  public void handleReviewSubmitted(ReviewSubmittedEvent event) {
+    if (reviewRepository.existsByOrderId(event.getOrderId())) {
+      log.debug("Review for order {} already applied, skipping", event.getOrderId());
+      return;
+    }
+    if (event.getStars() < 1 || event.getStars() > 5) {
+      log.warn("Ignoring review for order {} with {} stars", event.getOrderId(), event.getStars());
+      return;
+    }
+    if (restaurantRepository.applyRating(event.getRestaurantId(), event.getStars()) == 0) {
+      log.warn("Review for order {} references unknown restaurant {}", event.getOrderId(), event.getRestaurantId());
+      return;
+    }
+    reviewRepository.save(RestaurantReviewEntity.builder()
+            .orderId(event.getOrderId())
+            .reviewId(event.getReviewId())
+            .restaurantId(event.getRestaurantId())
+            .stars(event.getStars())
+            .reviewedAt(event.getCreatedAt())
+            .build());
+    eventPublisher.publishEvent(new RestaurantChangedEvent(event.getRestaurantId()));
+    log.info("Applied {}-star review for order {} to restaurant {}",
+            event.getStars(), event.getOrderId(), event.getRestaurantId());
+  }
+
+  @Scheduled(fixedDelayString = "${app.ratings.reconcile-interval:PT1H}",
+          initialDelayString = "${app.ratings.reconcile-interval:PT1H}")
+  @Transactional
+  public void reconcile() {
+    List<Long> drifted = restaurantRepository.findIdsWithRatingDrift();
+    if (drifted.isEmpty()) {
+      return;
+    }
+    int fixed = restaurantRepository.reconcileRatings(drifted);
+    // Cached responses and the search index still hold the old rating
+    drifted.forEach(restaurantId -> eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId)));
+    log.warn("Rating reconciliation corrected counters of {} restaurants", fixed);
+  }
+}
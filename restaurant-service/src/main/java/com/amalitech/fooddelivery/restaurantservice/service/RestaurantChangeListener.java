@@ -0,0 +1,176 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.config.CacheConfig;
+import com.amalitech.fooddelivery.restaurantservice.config.RabbitMQConfig;
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuChangedEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantChangedEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantCreatedEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.RestaurantRoutingKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps the per-instance read models (Caffeine caches, search, geo and opening-hours indexes, trending city lookup)
+ * consistent across instances.
+ *
+ * Local writes are applied once the transaction commits and then broadcast on {@code restaurant.*};
+ * every instance (including this one) applies them again on receipt, which is idempotent. Cache broadcasts
+ * are best effort (other instances catch up on TTL), but {@code restaurant.created} also drives the owner's
+ * promotion in Customer Service and is resent until the broker confirms it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@RabbitListener(queues = "#{restaurantCacheQueue.name}")
+public class RestaurantChangeListener {
+
+  private final CacheManager cacheManager;
+  private final RabbitTemplate rabbitTemplate;
+  private final RestaurantSearchIndex searchIndex;
+  private final RestaurantGeoIndex geoIndex;
+  private final OpeningHoursIndex openingHoursIndex;
+  private final TrendingService trendingService;
+
+  @Value("${app.events.publish-attempts:3}")
+  private int publishAttempts;
+
+  @Value("${app.events.confirm-timeout:PT2S}")
+  private Duration confirmTimeout;
+
+  @Value("${app.events.retry-backoff:PT0.5S}")
+  private Duration retryBackoff;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMenuChanged(MenuChangedEvent event) {
+    apply(event);
+    broadcast(RestaurantRoutingKey.MENU_UPDATED, event.getRestaurantId(), event);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRestaurantCreated(RestaurantCreatedEvent event) {
+    apply(new RestaurantChangedEvent(event.getRestaurantId()));
+    // Customer Service promotes the owner from this event, so unlike cache broadcasts it must reach the broker
+    publishConfirmed(RestaurantRoutingKey.RESTAURANT_CREATED, event.getRestaurantId(), event);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRestaurantChanged(RestaurantChangedEvent event) {
+    apply(event);
+    broadcast(RestaurantRoutingKey.RESTAURANT_UPDATED, event.getRestaurantId(), event);
+  }
+
+  @RabbitHandler
+  public void handleMenuChanged(MenuChangedEvent event) {
+    log.debug("Received menu version {} for restaurant {}", event.getVersion(), event.getRestaurantId());
+    apply(event);
+  }
+
+  @RabbitHandler
+  public void handleRestaurantCreated(RestaurantCreatedEvent event) {
+    log.debug("Received new restaurant {}", event.getRestaurantId());
+    apply(new RestaurantChangedEvent(event.getRestaurantId()));
+  }
+
+  @RabbitHandler
+  public void handleRestaurantChanged(RestaurantChangedEvent event) {
+    log.debug("Received change for restaurant {}", event.getRestaurantId());
+    apply(event);
+  }
+
+  private void apply(MenuChangedEvent event) {
+    evict(CacheConfig.RESTAURANTS, event.getRestaurantId());
+    // A menu cached under an older tag than the version cache is reloaded by the controller
+    evict(CacheConfig.MENUS, event.getRestaurantId());
+    evict(CacheConfig.MENU_VERSIONS, event.getRestaurantId());
+    event.getItems().forEach(item -> evict(CacheConfig.MENU_ITEMS, item.getId()));
+    if (event.getItems().size() == 1) {
+      searchIndex.refreshMenuItem(event.getItems().getFirst().getId());
+    } else {
+      // Bulk change (import): re-index every item of the restaurant in one pass
+      searchIndex.refreshRestaurant(event.getRestaurantId());
+    }
+  }
+
+  private void apply(RestaurantChangedEvent event) {
+    evict(CacheConfig.RESTAURANTS, event.getRestaurantId());
+    evict(CacheConfig.MENUS, event.getRestaurantId());
+    searchIndex.refreshRestaurant(event.getRestaurantId());
+    geoIndex.refresh(event.getRestaurantId());
+    openingHoursIndex.refresh(event.getRestaurantId());
+    trendingService.forgetRestaurant(event.getRestaurantId());
+  }
+
+  private void broadcast(RestaurantRoutingKey routingKey, Long restaurantId, Object event) {
+    try {
+      rabbitTemplate.convertAndSend(RabbitMQConfig.APP_EXCHANGE, routingKey.getRoutingKey(), event);
+    } catch (Exception e) {
+      log.warn("Failed to broadcast {} for restaurant {}. Other instances will refresh on TTL. Cause: {}",
+              routingKey.getRoutingKey(), restaurantId, e.getMessage());
+    }
+  }
+
+  /**
+   * Sends {@code event} and waits for the broker's publisher confirm, resending up to {@code publish-attempts}
+   * times. Runs after the commit, so the write can't be undone: a final failure is logged with the ids needed
+   * to replay it.
+   */
+  private void publishConfirmed(RestaurantRoutingKey routingKey, Long restaurantId, Object event) {
+    String cause = null;
+    for (int attempt = 1; attempt <= publishAttempts; attempt++) {
+      CorrelationData correlation = new CorrelationData(routingKey.getRoutingKey() + ":" + restaurantId + ":" + attempt);
+      try {
+        rabbitTemplate.convertAndSend(RabbitMQConfig.APP_EXCHANGE, routingKey.getRoutingKey(), event, correlation);
+        CorrelationData.Confirm confirm = correlation.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (confirm.ack()) {
+          return;
+        }
+        cause = "nacked by the broker: " + confirm.reason();
+      } catch (AmqpException | ExecutionException | TimeoutException e) {
+        cause = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        cause = "interrupted";
+        break;
+      }
+      log.warn("Publishing {} for restaurant {} failed (attempt {}/{}): {}",
+              routingKey.getRoutingKey(), restaurantId, attempt, publishAttempts, cause);
+      if (attempt < publishAttempts && !sleep(retryBackoff.multipliedBy(attempt))) {
+        break;
+      }
+    }
+    log.error("Gave up publishing {} for restaurant {}: {}. Event: {}", routingKey.getRoutingKey(), restaurantId,
+            cause, event);
+  }
+
+  private static boolean sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void evict(String cacheName, Long key) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null && key != null) {
+      cache.evict(key);
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.NearbyRestaurantResponse;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory grid index of restaurant coordinates for "restaurants near me" queries.
+ *
+ * The globe is split into fixed lat/lon cells; each cell holds the ids of the restaurants inside it.
+ * A query scans rings of cells outward from the caller's cell and stops as soon as the k nearest
+ * matches are guaranteed (or the radius is exhausted), so cost depends on local density rather than
+ * on the total number of restaurants. Kept in sync by RestaurantChangeListener.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestaurantGeoIndex {
+
+  public static final int MAX_RESULTS = 100;
+
+  private static final double EARTH_RADIUS_KM = 6371.0088;
+  private static final double KM_PER_DEGREE = 111.32;
+
+  private final RestaurantRepository restaurantRepository;
+  private final OpeningHoursIndex openingHoursIndex;
+
+  @Value("${app.geo.cell-size-degrees:0.05}")
+  private double cellSizeDegrees;
+
+  @Value("${app.geo.max-radius-km:50}")
+  private double maxRadiusKm;
+
+  private final Map<Long, GeoEntry> entries = new ConcurrentHashMap<>();
+  private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+  private record GeoEntry(long id, double latitude, double longitude, long cell, String name,
+                          String cuisineType, String address, String city,
+                          int estimatedDeliveryMinutes, boolean active) {
+  }
+
+  private record Candidate(GeoEntry entry, double distanceKm, boolean openNow) {
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    entries.clear();
+    cells.clear();
+    List<RestaurantEntity> restaurants = restaurantRepository.findByLatitudeIsNotNullAndLongitudeIsNotNull();
+    restaurants.forEach(this::put);
+    log.info("Geo index built with {} restaurants", restaurants.size());
+  }
+
+  public void refresh(Long restaurantId) {
+    restaurantRepository.findById(restaurantId)
+            .ifPresentOrElse(this::put, () -> remove(restaurantId));
+  }
+
+  public synchronized void put(RestaurantEntity restaurant) {
+    if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+      remove(restaurant.getId());
+      return;
+    }
+    GeoEntry entry = new GeoEntry(restaurant.getId(), restaurant.getLatitude(), restaurant.getLongitude(),
+            cellOf(restaurant.getLatitude(), restaurant.getLongitude()), restaurant.getName(),
+            restaurant.getCuisineType(), restaurant.getAddress(), restaurant.getCity(),
+            restaurant.getEstimatedDeliveryMinutes(), restaurant.isActive());
+    GeoEntry previous = entries.put(entry.id(), entry);
+    if (previous != null && previous.cell() != entry.cell()) {
+      removeFromCell(previous);
+    }
+    cells.computeIfAbsent(entry.cell(), cell -> ConcurrentHashMap.newKeySet()).add(entry.id());
+  }
+
+  public synchronized void remove(Long restaurantId) {
+    GeoEntry previous = entries.remove(restaurantId);
+    if (previous != null) {
+      removeFromCell(previous);
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} active restaurants within {@code radiusKm} of the given point, nearest first.
+   * Without a radius this is a plain k-nearest query bounded by {@code app.geo.max-radius-km}.
+   *
+   * @param cuisineType optional case-insensitive cuisine filter
+   * @param openNowOnly skip restaurants that are closed right now
+   */
+  public List<NearbyRestaurantResponse> nearby(double latitude, double longitude, Double radiusKm,
+                                               int limit, String cuisineType, boolean openNowOnly) {
+    if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+      throw new IllegalStateException("Coordinates out of range");
+    }
+    double radius = radiusKm == null ? maxRadiusKm : Math.min(Math.max(radiusKm, 0), maxRadiusKm);
+    int k = Math.clamp(limit, 1, MAX_RESULTS);
+
+    // Distance fully covered after scanning ring r is r * (smallest cell side within the search band)
+    double bandLatitude = Math.min(89.0, Math.abs(latitude) + radius / KM_PER_DEGREE);
+    double minCellKm = cellSizeDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(bandLatitude));
+    int maxRing = Math.min((int) Math.ceil(radius / minCellKm) + 1, columns() / 2 - 1);
+
+    ZonedDateTime now = openingHoursIndex.now();
+    PriorityQueue<Candidate> nearest = new PriorityQueue<>(
+            Comparator.comparingDouble(Candidate::distanceKm).reversed());
+    int row = row(latitude);
+    int column = column(longitude);
+    for (int ring = 0; ring <= maxRing; ring++) {
+      scanRing(row, column, ring, entry -> {
+        if (!entry.active() || (cuisineType != null && !cuisineType.equalsIgnoreCase(entry.cuisineType()))) {
+          return;
+        }
+        double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+        if (distance > radius) {
+          return;
+        }
+        boolean open = openingHoursIndex.isOpenAt(entry.id(), now);
+        if (openNowOnly && !open) {
+          return;
+        }
+        nearest.offer(new Candidate(entry, distance, open));
+        if (nearest.size() > k) {
+          nearest.poll();
+        }
+      });
+      if (nearest.size() == k && nearest.peek().distanceKm() <= ring * minCellKm) {
+        break;
+      }
+    }
+
+    List<Candidate> results = new ArrayList<>(nearest);
+    results.sort(Comparator.comparingDouble(Candidate::distanceKm));
+    return results.stream().map(RestaurantGeoIndex::toResponse).toList();
+  }
+
+  private void scanRing(int centerRow, int centerColumn, int ring, Consumer<GeoEntry> visitor) {
+    for (int dr = -ring; dr <= ring; dr++) {
+      int row = centerRow + dr;
+      if (row < 0 || row >= rows()) {
+        continue;
+      }
+      // Inner rows only need the two edge columns of the ring
+      int step = (Math.abs(dr) == ring) ? 1 : Math.max(2 * ring, 1);
+      for (int dc = -ring; dc <= ring; dc += step) {
+        int column = Math.floorMod(centerColumn + dc, columns());
+        Set<Long> ids = cells.get(cellKey(row, column));
+        if (ids == null) {
+          continue;
+        }
+        for (Long id : ids) {
+          GeoEntry entry = entries.get(id);
+          if (entry != null) {
+            visitor.accept(entry);
+          }
+        }
+      }
+    }
+  }
+
+  private void removeFromCell(GeoEntry entry) {
+    cells.computeIfPresent(entry.cell(), (cell, ids) -> {
+      ids.remove(entry.id());
+      return ids.isEmpty() ? null : ids;
+    });
+  }
+
+  private long cellOf(double latitude, double longitude) {
+    return cellKey(row(latitude), column(longitude));
+  }
+
+  private long cellKey(int row, int column) {
+    return (long) row * columns() + column;
+  }
+
+  private int row(double latitude) {
+    return Math.min((int) ((latitude + 90) / cellSizeDegrees), rows() - 1);
+  }
+
+  private int column(double longitude) {
+    return Math.min((int) ((longitude + 180) / cellSizeDegrees), columns() - 1);
+  }
+
+  private int rows() {
+    return (int) Math.ceil(180 / cellSizeDegrees);
+  }
+
+  private int columns() {
+    return (int) Math.ceil(360 / cellSizeDegrees);
+  }
+
+  private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLon = Math.toRadians(lon2 - lon1);
+    double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+  }
+
+  private static NearbyRestaurantResponse toResponse(Candidate candidate) {
+    GeoEntry entry = candidate.entry();
+    NearbyRestaurantResponse dto = new NearbyRestaurantResponse();
+    dto.setId(entry.id());
+    dto.setName(entry.name());
+    dto.setCuisineType(entry.cuisineType());
+    dto.setAddress(entry.address());
+    dto.setCity(entry.city());
+    dto.setLatitude(entry.latitude());
+    dto.setLongitude(entry.longitude());
+    dto.setEstimatedDeliveryMinutes(entry.estimatedDeliveryMinutes());
+    dto.setDistanceKm(Math.round(candidate.distanceKm() * 100) / 100.0);
+    dto.setOpenNow(candidate.openNow());
+    return dto;
+  }
+}
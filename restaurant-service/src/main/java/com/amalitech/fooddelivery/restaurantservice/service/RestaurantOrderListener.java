@@ -0,0 +1,40 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.config.RestaurantQueueConfig;
+import com.amalitech.fooddelivery.restaurantservice.dto.OrderPlacedEvent;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantOrderEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records every order placed at a restaurant in {@code restaurant_orders}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestaurantOrderListener {
+
+  private final RestaurantOrderRepository restaurantOrderRepository;
+
+  @RabbitListener(queues = RestaurantQueueConfig.ORDER_QUEUE)
+  @Transactional
+  public void handleOrderPlaced(OrderPlacedEvent event) {
+    if (event.getId() == null || event.getRestaurantId() == null) {
+      log.warn("Ignoring order placed event without order or restaurant id: {}", event);
+      return;
+    }
+    if (restaurantOrderRepository.existsById(event.getId())) {
+      log.debug("Order {} already recorded, skipping", event.getId());
+      return;
+    }
+    restaurantOrderRepository.save(RestaurantOrderEntity.builder()
+            .orderId(event.getId())
+            .restaurantId(event.getRestaurantId())
+            .placedAt(event.getCreatedAt())
+            .build());
+  }
+}
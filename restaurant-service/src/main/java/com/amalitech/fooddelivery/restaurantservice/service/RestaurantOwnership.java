@@ -0,0 +1,51 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.client.CustomerInterface;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.exception.UnauthorizedException;
+import com.amalitech.fooddelivery.restaurantservice.security.SecurityContextFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership check for restaurant and menu writes.
+ *
+ * The owner's username is stored on the restaurant, so the check is a local comparison. Usernames never
+ * change once registered, so the copy cannot go stale. Restaurants created before the column existed are
+ * checked once by owner id (forwarded by the gateway, or looked up in the Customer Service for older tokens)
+ * and then have the username filled in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RestaurantOwnership {
+
+    private final CustomerInterface customerService;
+
+    /**
+     * Must run inside the caller's read-write transaction with a managed {@code restaurant}, so a
+     * backfilled username is flushed with the rest of the write.
+     *
+     * @throws UnauthorizedException when {@code username} does not own the restaurant
+     */
+    public void check(RestaurantEntity restaurant, String username) {
+        if (restaurant.getOwnerUsername() != null) {
+            if (!restaurant.getOwnerUsername().equals(username)) {
+                throw new UnauthorizedException("You don't own this restaurant");
+            }
+            return;
+        }
+
+        Long callerId = SecurityContextFilter.userId(SecurityContextHolder.getContext().getAuthentication());
+        if (callerId == null) {
+            callerId = customerService.findEntityByUsername(username).getId();
+        }
+        if (!restaurant.getOwnerId().equals(callerId)) {
+            throw new UnauthorizedException("You don't own this restaurant");
+        }
+        log.info("Recording owner username for restaurant {}", restaurant.getId());
+        restaurant.setOwnerUsername(username);
+    }
+}
@@ -0,0 +1,333 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.SearchHitResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.SearchPageResponse;
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory Lucene index over restaurants and menu items.
+ *
+ * Built from Postgres once at startup, then kept current by RestaurantChangeListener on every
+ * restaurant/menu write (local or broadcast from another instance). Searches are answered
+ * purely from stored index fields, so they never touch the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestaurantSearchIndex {
+
+  public static final String TYPE_RESTAURANT = "RESTAURANT";
+  public static final String TYPE_MENU_ITEM = "MENU_ITEM";
+  public static final int MAX_PAGE_SIZE = 50;
+  // Deepest hit a page may reach; Lucene collects every hit up to the requested page
+  public static final int MAX_RESULT_WINDOW = 10_000;
+
+  private static final String KEY = "key";
+  private static final String TYPE = "type";
+  private static final String ID = "id";
+  private static final String RESTAURANT_ID = "restaurantId";
+  private static final String RESTAURANT_NAME = "restaurantName";
+  private static final String NAME = "name";
+  private static final String DESCRIPTION = "description";
+  private static final String CATEGORY = "category";
+  private static final String CITY = "city";
+  private static final String PRICE = "price";
+  private static final String VISIBLE = "visible";
+  private static final String RATING = "rating";
+
+  public static final String SORT_RATING = "rating";
+  // Best-rated restaurant first (doc values, no scan), relevance breaks ties
+  private static final Sort BY_RATING = new Sort(new SortField(RATING, SortField.Type.DOUBLE, true), SortField.FIELD_SCORE);
+
+  // Matches on the name weigh most, then cuisine/category, then free-text description
+  private static final Map<String, Float> FIELD_BOOSTS = Map.of(NAME, 3f, CATEGORY, 2f, DESCRIPTION, 1f);
+  private static final int MAX_QUERY_TERMS = 8;
+
+  private final RestaurantRepository restaurantRepository;
+  private final MenuItemRepository menuItemRepository;
+  private final OpeningHoursIndex openingHoursIndex;
+
+  private final Analyzer analyzer = new StandardAnalyzer();
+  private final Directory directory = new ByteBuffersDirectory();
+  private IndexWriter writer;
+  private SearcherManager searcherManager;
+
+  @PostConstruct
+  void open() throws IOException {
+    writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+    searcherManager = new SearcherManager(writer, null);
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    searcherManager.close();
+    writer.close();
+    directory.close();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    try {
+      writer.deleteAll();
+      List<RestaurantEntity> restaurants = restaurantRepository.findAll();
+      List<MenuItemEntity> items = menuItemRepository.findAll();
+      for (RestaurantEntity restaurant : restaurants) {
+        writer.updateDocument(key(TYPE_RESTAURANT, restaurant.getId()), toDocument(restaurant));
+      }
+      for (MenuItemEntity item : items) {
+        writer.updateDocument(key(TYPE_MENU_ITEM, item.getId()), toDocument(item));
+      }
+      writer.commit();
+      searcherManager.maybeRefresh();
+      log.info("Search index built with {} restaurants and {} menu items", restaurants.size(), items.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to build restaurant search index", e);
+    }
+  }
+
+  /**
+   * Re-indexes a restaurant and all of its menu items (their documents carry the restaurant name and visibility).
+   */
+  @Transactional(readOnly = true)
+  public void refreshRestaurant(Long restaurantId) {
+    try {
+      RestaurantEntity restaurant = restaurantRepository.findById(restaurantId).orElse(null);
+      if (restaurant == null) {
+        writer.deleteDocuments(key(TYPE_RESTAURANT, restaurantId));
+      } else {
+        writer.updateDocument(key(TYPE_RESTAURANT, restaurantId), toDocument(restaurant));
+        for (MenuItemEntity item : menuItemRepository.findByRestaurantId(restaurantId)) {
+          writer.updateDocument(key(TYPE_MENU_ITEM, item.getId()), toDocument(item));
+        }
+      }
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to index restaurant " + restaurantId, e);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public void refreshMenuItem(Long menuItemId) {
+    try {
+      MenuItemEntity item = menuItemRepository.findById(menuItemId).orElse(null);
+      if (item == null) {
+        writer.deleteDocuments(key(TYPE_MENU_ITEM, menuItemId));
+      } else {
+        writer.updateDocument(key(TYPE_MENU_ITEM, menuItemId), toDocument(item));
+      }
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to index menu item " + menuItemId, e);
+    }
+  }
+
+  /**
+   * Ranked search across restaurant name/description/cuisine and menu item name/description/category.
+   * Every query term must match some field, either exactly or as a prefix ("ram" matches "ramen");
+   * exact matches score higher. Inactive restaurants and unavailable items are filtered out.
+   *
+   * @param type optional {@code RESTAURANT} or {@code MENU_ITEM} filter
+   * @param sort {@code rating} to order by restaurant rating; anything else orders by relevance
+   * @throws IllegalStateException when the page reaches past {@link #MAX_RESULT_WINDOW} hits
+   */
+  public SearchPageResponse search(String text, String type, int page, int size, String sort) {
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    int pageNumber = Math.max(page, 0);
+    if ((pageNumber + 1L) * pageSize > MAX_RESULT_WINDOW) {
+      throw new IllegalStateException("Search results are limited to the first " + MAX_RESULT_WINDOW + " hits");
+    }
+    Query query = buildQuery(text, type);
+    if (query == null) {
+      return new SearchPageResponse(List.of(), 0, pageNumber, pageSize);
+    }
+
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        int n = (pageNumber + 1) * pageSize;
+        TopDocs top = SORT_RATING.equalsIgnoreCase(sort)
+                ? searcher.search(query, n, BY_RATING, true)
+                : searcher.search(query, n);
+        StoredFields storedFields = searcher.storedFields();
+        List<SearchHitResponse> hits = new ArrayList<>();
+        ZonedDateTime now = openingHoursIndex.now();
+        for (int i = pageNumber * pageSize; i < top.scoreDocs.length; i++) {
+          ScoreDoc scoreDoc = top.scoreDocs[i];
+          SearchHitResponse hit = toHit(storedFields.document(scoreDoc.doc), scoreDoc.score);
+          hit.setOpenNow(openingHoursIndex.isOpenAt(hit.getRestaurantId(), now));
+          hits.add(hit);
+        }
+        return new SearchPageResponse(hits, top.totalHits.value(), pageNumber, pageSize);
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Search failed", e);
+    }
+  }
+
+  private Query buildQuery(String text, String type) {
+    List<String> terms = analyze(text);
+    if (terms.isEmpty()) {
+      return null;
+    }
+    BooleanQuery.Builder query = new BooleanQuery.Builder();
+    for (String term : terms) {
+      BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+      FIELD_BOOSTS.forEach((field, boost) -> {
+        anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost * 2), BooleanClause.Occur.SHOULD);
+        anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+      });
+      query.add(anyField.build(), BooleanClause.Occur.MUST);
+    }
+    query.add(new TermQuery(new Term(VISIBLE, "true")), BooleanClause.Occur.FILTER);
+    if (type != null && !type.isBlank()) {
+      query.add(new TermQuery(new Term(TYPE, type.toUpperCase())), BooleanClause.Occur.FILTER);
+    }
+    return query.build();
+  }
+
+  private List<String> analyze(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+      CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+        terms.add(attribute.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return terms;
+  }
+
+  private Document toDocument(RestaurantEntity restaurant) {
+    Document doc = new Document();
+    doc.add(new StringField(TYPE, TYPE_RESTAURANT, Field.Store.YES));
+    doc.add(new StoredField(ID, restaurant.getId()));
+    doc.add(new StoredField(RESTAURANT_ID, restaurant.getId()));
+    addText(doc, NAME, restaurant.getName());
+    addText(doc, DESCRIPTION, restaurant.getDescription());
+    addText(doc, CATEGORY, restaurant.getCuisineType());
+    addStored(doc, CITY, restaurant.getCity());
+    addRating(doc, restaurant);
+    doc.add(new StringField(VISIBLE, String.valueOf(restaurant.isActive()), Field.Store.NO));
+    doc.add(new StringField(KEY, keyValue(TYPE_RESTAURANT, restaurant.getId()), Field.Store.NO));
+    return doc;
+  }
+
+  private Document toDocument(MenuItemEntity item) {
+    RestaurantEntity restaurant = item.getRestaurant();
+    Document doc = new Document();
+    doc.add(new StringField(TYPE, TYPE_MENU_ITEM, Field.Store.YES));
+    doc.add(new StoredField(ID, item.getId()));
+    doc.add(new StoredField(RESTAURANT_ID, restaurant.getId()));
+    addStored(doc, RESTAURANT_NAME, restaurant.getName());
+    addText(doc, NAME, item.getName());
+    addText(doc, DESCRIPTION, item.getDescription());
+    addText(doc, CATEGORY, item.getCategory());
+    addStored(doc, CITY, restaurant.getCity());
+    if (item.getPrice() != null) {
+      doc.add(new StoredField(PRICE, item.getPrice().toPlainString()));
+    }
+    addRating(doc, restaurant);
+    doc.add(new StringField(VISIBLE, String.valueOf(item.isAvailable() && restaurant.isActive()), Field.Store.NO));
+    doc.add(new StringField(KEY, keyValue(TYPE_MENU_ITEM, item.getId()), Field.Store.NO));
+    return doc;
+  }
+
+  private SearchHitResponse toHit(Document doc, float score) {
+    SearchHitResponse hit = new SearchHitResponse();
+    hit.setType(doc.get(TYPE));
+    hit.setId(doc.getField(ID).numericValue().longValue());
+    hit.setRestaurantId(doc.getField(RESTAURANT_ID).numericValue().longValue());
+    hit.setRestaurantName(TYPE_RESTAURANT.equals(hit.getType()) ? doc.get(NAME) : doc.get(RESTAURANT_NAME));
+    hit.setName(doc.get(NAME));
+    hit.setDescription(doc.get(DESCRIPTION));
+    hit.setCategory(doc.get(CATEGORY));
+    hit.setCity(doc.get(CITY));
+    String price = doc.get(PRICE);
+    hit.setPrice(price != null ? new BigDecimal(price) : null);
+    hit.setScore(score);
+    hit.setRating(doc.getField(RATING).numericValue().doubleValue());
+    return hit;
+  }
+
+  private static void addRating(Document doc, RestaurantEntity restaurant) {
+    doc.add(new DoubleDocValuesField(RATING, restaurant.getRating()));
+    doc.add(new StoredField(RATING, restaurant.getRating()));
+  }
+
+  private static void addText(Document doc, String field, String value) {
+    if (value != null) {
+      doc.add(new TextField(field, value, Field.Store.YES));
+    }
+  }
+
+  private static void addStored(Document doc, String field, String value) {
+    if (value != null) {
+      doc.add(new StoredField(field, value));
+    }
+  }
+
+  private static Term key(String type, Long id) {
+    return new Term(KEY, keyValue(type, id));
+  }
+
+  private static String keyValue(String type, Long id) {
+    return type + ":" + id;
+  }
+}
@@ -1,47 +1,76 @@
 package com.amalitech.fooddelivery.restaurantservice.service;
 
 import com.amalitech.fooddelivery.restaurantservice.client.CustomerInterface;
+import com.amalitech.fooddelivery.restaurantservice.config.CacheConfig;
+import com.amalitech.fooddelivery.restaurantservice.config.ReplicaRoutingDataSource;
 import com.amalitech.fooddelivery.restaurantservice.dto.*;
 import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemEntity;
 import com.amalitech.fooddelivery.restaurantservice.entity.RestaurantEntity;
 import com.amalitech.fooddelivery.restaurantservice.exception.ResourceNotFoundException;
-import com.amalitech.fooddelivery.restaurantservice.exception.UnauthorizedException;
 import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemRepository;
 import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Restaurant Service business logic.
  *
  * Cross-domain communication:
- *  - Validates restaurant ownership via Feign call to Customer Service
+ *  - Resolves the owner via Feign call to Customer Service on creation; later ownership checks are local
+ *  - Publishes RestaurantCreatedEvent; Customer Service promotes the owner asynchronously
  *  - Enriches RestaurantResponse with owner name via Feign call to Customer Service
+ *
+ * Restaurant and menu reads are served from Caffeine caches. Menu writes are recorded as a new menu
+ * version by MenuSnapshotService, whose MenuChangedEvent RestaurantChangeListener turns into local and
+ * cross-instance evictions; the same events keep the in-memory RestaurantSearchIndex current.
+ * Cache-filling reads run on the primary through ReplicaRoutingDataSource.onPrimary: a fill from a
+ * lagging read replica would keep stale data in the cache until it expires.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RestaurantService {
 
+    public static final String SORT_RATING = "rating";
+
+    /**
+     * A restaurant's available menu items with the ETag of the menu version they were read at.
+     */
+    public record Menu(String eTag, List<MenuItemResponse> items) {
+    }
+
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
     private final CustomerInterface customerService;
+    private final RestaurantOwnership restaurantOwnership;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MenuSnapshotService menuSnapshotService;
+    private final OpeningHoursIndex openingHoursIndex;
 
+    /**
+     * Not transactional on purpose: the save commits on its own and no connection is held while the
+     * owner is looked up (only needed when the gateway did not forward the caller's id). The owner is
+     * promoted to RESTAURANT_OWNER by the Customer Service when it receives the RestaurantCreatedEvent
+     * published after the commit.
+     */
+    public RestaurantResponse createRestaurant(String ownerUsername, Long ownerId, RestaurantRequest request) {
 
-    @Transactional
-    public RestaurantResponse createRestaurant(String ownerUsername, RestaurantRequest request) {
-
-        CustomerResponse owner = customerService.findEntityByUsername(ownerUsername);
-
-        // Promote to RESTAURANT_OWNER if needed
-        if (owner.getRole().equalsIgnoreCase("CUSTOMER")) {
-            log.warn("Making user {} a restaurant owner", ownerUsername);
-            customerService.makeRestaurantOwner();
-        }
+        CustomerResponse owner = ownerId == null ? customerService.findEntityByUsername(ownerUsername) : null;
+        Long resolvedOwnerId = owner != null ? owner.getId() : ownerId;
 
         RestaurantEntity restaurant = RestaurantEntity.builder()
                 .name(request.getName())
@@ -51,35 +80,64 @@ public class RestaurantService {
                 .city(request.getCity())
                 .phone(request.getPhone())
                 .estimatedDeliveryMinutes(request.getEstimatedDeliveryMinutes())
-                .ownerId(owner.getId())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .ownerId(resolvedOwnerId)
+                .ownerUsername(ownerUsername)
                 .build();
 
-        return enrichWithOwnerName(RestaurantResponse.fromEntity(restaurantRepository.save(restaurant)));
+        RestaurantEntity saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantCreatedEvent(saved.getId(), resolvedOwnerId));
+        RestaurantResponse response = RestaurantResponse.fromEntity(saved);
+        if (owner != null) {
+            response.setOwnerName(owner.getFirstName() + " " + owner.getLastName());
+        } else {
+            enrichWithOwnerName(response);
+        }
+        return response.withOpenNow(saved.isActive() && openingHoursIndex.isOpenNow(saved.getId()));
     }
 
+    // A missing owner name means the Customer Service fallback answered: don't pin that for the cache TTL
+    @Cacheable(value = CacheConfig.RESTAURANTS, unless = "#result.ownerId != null && #result.ownerName == null")
     @Transactional(readOnly = true)
     public RestaurantResponse getById(Long id) {
-        RestaurantEntity restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
-        return enrichWithOwnerName(RestaurantResponse.fromEntity(restaurant));
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            RestaurantEntity restaurant = restaurantRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", id));
+            return enrichWithOwnerName(RestaurantResponse.fromEntity(restaurant));
+        });
     }
 
     @Transactional(readOnly = true)
-    public List<RestaurantResponse> searchByCity(String city) {
-        return restaurantRepository.findByCityIgnoreCaseAndActiveTrue(city)
-                .stream().map(RestaurantResponse::fromEntity).map(this::enrichWithOwnerName).toList();
+    public List<RestaurantResponse> searchByCity(String city, boolean openNowOnly, String sort) {
+        return enrichWithOwnerNames(withOpenStatus(
+                restaurantRepository.findByCityIgnoreCaseAndActiveTrue(city, listingSort(sort)), openNowOnly));
     }
 
     @Transactional(readOnly = true)
-    public List<RestaurantResponse> searchByCuisine(String cuisineType) {
-        return restaurantRepository.findByCuisineTypeIgnoreCaseAndActiveTrue(cuisineType)
-                .stream().map(RestaurantResponse::fromEntity).map(this::enrichWithOwnerName).toList();
+    public List<RestaurantResponse> searchByCuisine(String cuisineType, boolean openNowOnly, String sort) {
+        return enrichWithOwnerNames(withOpenStatus(
+                restaurantRepository.findByCuisineTypeIgnoreCaseAndActiveTrue(cuisineType, listingSort(sort)), openNowOnly));
     }
 
     @Transactional(readOnly = true)
-    public List<RestaurantResponse> getAllActive() {
-        return restaurantRepository.findByActiveTrue()
-                .stream().map(RestaurantResponse::fromEntity).map(this::enrichWithOwnerName).toList();
+    public List<RestaurantResponse> getAllActive(boolean openNowOnly, String sort) {
+        return enrichWithOwnerNames(withOpenStatus(restaurantRepository.findByActiveTrue(listingSort(sort)), openNowOnly));
+    }
+
+    @Transactional
+    public RestaurantResponse updateLocation(Long restaurantId, String ownerUsername, LocationRequest request) {
+        RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+
+        restaurantOwnership.check(restaurant, ownerUsername);
+
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
+        RestaurantEntity saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        return enrichWithOwnerName(RestaurantResponse.fromEntity(saved))
+                .withOpenNow(saved.isActive() && openingHoursIndex.isOpenNow(restaurantId));
     }
 
     // ---- Menu Item management ----
@@ -89,11 +147,7 @@ public class RestaurantService {
         RestaurantEntity restaurant = restaurantRepository.findById(restaurantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
 
-        CustomerResponse owner = customerService.findEntityByUsername(ownerUsername);
-
-        if (!restaurant.getOwnerId().equals(owner.getId())) {
-            throw new UnauthorizedException("You don't own this restaurant");
-        }
+        restaurantOwnership.check(restaurant, ownerUsername);
 
         MenuItemEntity item = MenuItemEntity.builder()
                 .name(request.getName())
@@ -104,36 +158,74 @@ public class RestaurantService {
                 .restaurant(restaurant)
                 .build();
 
-        return MenuItemResponse.fromEntity(menuItemRepository.save(item));
+        MenuItemEntity saved = menuItemRepository.save(item);
+        menuSnapshotService.recordItemChange(restaurantId, saved.getId());
+        return MenuItemResponse.fromEntity(saved);
     }
 
+    @Cacheable(CacheConfig.MENU_ITEMS)
     @Transactional(readOnly = true)
     public MenuItemResponse getMenuItemById(Long menuId) {
-        return MenuItemResponse.fromEntity(menuItemRepository.findById(menuId).orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", menuId)));
+        return ReplicaRoutingDataSource.onPrimary(() -> MenuItemResponse.fromEntity(menuItemRepository.findById(menuId)
+                .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", menuId))));
     }
 
+    /**
+     * The menu is cached together with its own ETag, so a fill that loses a race with a menu write can leave
+     * an old menu in the cache, but never under a newer tag. The version is read before the items, so the
+     * items are at least as new as the tag.
+     */
+    @Cacheable(CacheConfig.MENUS)
     @Transactional(readOnly = true)
-    public List<MenuItemResponse> getMenu(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurantId)
-                .stream().map(MenuItemResponse::fromEntity).toList();
+    public Menu getMenu(Long restaurantId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            String eTag = menuETag(restaurantId, findMenuVersion(restaurantId));
+            return new Menu(eTag, menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurantId)
+                    .stream().map(MenuItemResponse::fromEntity).toList());
+        });
+    }
+
+    /**
+     * Drops a cached menu that no longer matches the current menu version.
+     */
+    @CacheEvict(CacheConfig.MENUS)
+    public void evictMenu(Long restaurantId) {
+        // Evicted by the annotation
+    }
+
+    /**
+     * Strong ETag for a restaurant's menu, derived from its menu version counter.
+     * Served from cache so conditional requests can be answered without loading the menu.
+     */
+    @Cacheable(CacheConfig.MENU_VERSIONS)
+    @Transactional(readOnly = true)
+    public String getMenuETag(Long restaurantId) {
+        return menuETag(restaurantId, ReplicaRoutingDataSource.onPrimary(() -> findMenuVersion(restaurantId)));
+    }
+
+    private long findMenuVersion(Long restaurantId) {
+        return restaurantRepository.findMenuVersionById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
+    }
+
+    private static String menuETag(Long restaurantId, long version) {
+        return "\"menu-" + restaurantId + "-" + version + "\"";
     }
 
     @Transactional
     public MenuItemResponse updateMenuItem(Long itemId, String ownerUsername, MenuItemRequest request) {
         MenuItemEntity item = menuItemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", itemId));
-        CustomerResponse owner = customerService.findEntityByUsername(ownerUsername);
-
-        if (!item.getRestaurant().getOwnerId().equals(owner.getId())) {
-            throw new UnauthorizedException("You don't own this restaurant");
-        }
+        restaurantOwnership.check(item.getRestaurant(), ownerUsername);
 
         if (request.getName() != null) item.setName(request.getName());
         if (request.getDescription() != null) item.setDescription(request.getDescription());
         if (request.getPrice() != null) item.setPrice(request.getPrice());
         if (request.getCategory() != null) item.setCategory(request.getCategory());
 
-        return MenuItemResponse.fromEntity(menuItemRepository.save(item));
+        MenuItemEntity saved = menuItemRepository.save(item);
+        menuSnapshotService.recordItemChange(item.getRestaurant().getId(), itemId);
+        return MenuItemResponse.fromEntity(saved);
     }
 
     @Transactional
@@ -141,14 +233,11 @@ public class RestaurantService {
         MenuItemEntity item = menuItemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", itemId));
 
-        CustomerResponse owner = customerService.findEntityByUsername(ownerUsername);
-
-        if (!item.getRestaurant().getOwnerId().equals(owner.getId())) {
-            throw new UnauthorizedException("You don't own this restaurant");
-        }
+        restaurantOwnership.check(item.getRestaurant(), ownerUsername);
 
         item.setAvailable(!item.isAvailable());
         menuItemRepository.save(item);
+        menuSnapshotService.recordItemChange(item.getRestaurant().getId(), itemId);
     }
 
     // Used by OrderService — MONOLITH COUPLING
@@ -162,6 +251,28 @@ public class RestaurantService {
                 .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", id));
     }
 
+    private static Sort listingSort(String sort) {
+        return SORT_RATING.equalsIgnoreCase(sort)
+                ? Sort.by(Sort.Order.desc("rating"), Sort.Order.desc("ratingCount"), Sort.Order.asc("id"))
+                : Sort.by("id");
+    }
+
+    /**
+     * Maps listing rows to responses stamped with their open-now status, evaluated against a single clock
+     * reading. Closed restaurants are dropped before mapping when only open ones are wanted.
+     */
+    private List<RestaurantResponse> withOpenStatus(List<RestaurantEntity> restaurants, boolean openNowOnly) {
+        ZonedDateTime now = openingHoursIndex.now();
+        List<RestaurantResponse> responses = new ArrayList<>(restaurants.size());
+        for (RestaurantEntity restaurant : restaurants) {
+            boolean open = restaurant.isActive() && openingHoursIndex.isOpenAt(restaurant.getId(), now);
+            if (open || !openNowOnly) {
+                responses.add(RestaurantResponse.fromEntity(restaurant).withOpenNow(open));
+            }
+        }
+        return responses;
+    }
+
     /**
      * Enriches a RestaurantResponse with the owner's name fetched from the Customer Service.
      * Uses a try-catch so that a Customer Service outage does not break restaurant retrieval.
@@ -180,4 +291,33 @@ public class RestaurantService {
         }
         return response;
     }
+
+    /**
+     * Bulk variant of {@link #enrichWithOwnerName} for listing endpoints.
+     * Owner ids are de-duplicated and resolved with a single batch call to the Customer Service
+     * instead of one call per restaurant.
+     */
+    private List<RestaurantResponse> enrichWithOwnerNames(List<RestaurantResponse> responses) {
+        List<Long> ownerIds = responses.stream()
+                .map(RestaurantResponse::getOwnerId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ownerIds.isEmpty()) {
+            return responses;
+        }
+        try {
+            Map<Long, CustomerResponse> owners = customerService.getByIds(ownerIds).stream()
+                    .collect(Collectors.toMap(CustomerResponse::getId, Function.identity(), (a, b) -> a));
+            responses.forEach(response -> {
+                CustomerResponse owner = owners.get(response.getOwnerId());
+                if (owner != null) {
+                    response.setOwnerName(owner.getFirstName() + " " + owner.getLastName());
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Could not fetch owner info for {} restaurants: {}", responses.size(), e.getMessage());
+        }
+        return responses;
+    }
 }
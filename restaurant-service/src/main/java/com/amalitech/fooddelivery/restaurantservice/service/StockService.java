@@ -0,0 +1,140 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.config.RestaurantQueueConfig;
+import com.amalitech.fooddelivery.restaurantservice.dto.OrderCancelledEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockReservationRequest;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockReservationResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockResponse;
+import com.amalitech.fooddelivery.restaurantservice.dto.StockUpdateRequest;
+import com.amalitech.fooddelivery.restaurantservice.entity.MenuItemEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.StockReservationEntity;
+import com.amalitech.fooddelivery.restaurantservice.exception.ResourceNotFoundException;
+import com.amalitech.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-item stock with checkout reservations.
+ *
+ * Reserving takes the units straight off {@code menu_items.stock} with a conditional UPDATE, so the
+ * database row lock is the only coordination needed between replicas and concurrent checkouts of a
+ * popular item simply queue on that row for the length of one statement. The Order Service commits the
+ * reservation to its order once the order is saved, or releases it on failure; held reservations that
+ * are never committed are returned by a periodic sweep, and cancelling an order returns its stock.
+ *
+ * Committing is idempotent, so the Order Service can retry it. The sweep only takes reservations that
+ * expired more than {@code app.stock.commit-grace} ago, so it never returns the stock of a reservation
+ * whose commit is still being retried.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockService {
+
+    private final MenuItemRepository menuItemRepository;
+    private final StockReservationRepository reservationRepository;
+    private final RestaurantOwnership restaurantOwnership;
+
+    @Value("${app.stock.reservation-ttl:PT5M}")
+    private Duration reservationTtl;
+
+    @Value("${app.stock.commit-grace:PT1M}")
+    private Duration commitGrace;
+
+    @Transactional
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        // Duplicate lines are merged and rows are locked in id order, so two checkouts never deadlock
+        Map<Long, Integer> quantities = new TreeMap<>();
+        request.getItems().forEach(line -> quantities.merge(line.getMenuItemId(), line.getQuantity(), Integer::sum));
+
+        List<Long> unavailable = new ArrayList<>();
+        quantities.forEach((menuItemId, quantity) -> {
+            if (menuItemRepository.reserveStock(menuItemId, request.getRestaurantId(), quantity) == 0) {
+                unavailable.add(menuItemId);
+            }
+        });
+        if (!unavailable.isEmpty()) {
+            // Give back whatever the other lines took; the caller reports the missing items
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new StockReservationResponse(false, null, null, unavailable);
+        }
+
+        UUID reservationId = UUID.randomUUID();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(reservationTtl);
+        reservationRepository.saveAll(quantities.entrySet().stream()
+                .map(line -> StockReservationEntity.builder()
+                        .reservationId(reservationId)
+                        .menuItemId(line.getKey())
+                        .quantity(line.getValue())
+                        .status(StockReservationEntity.Status.HELD)
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList());
+        return new StockReservationResponse(true, reservationId, expiresAt, List.of());
+    }
+
+    @Transactional
+    public void commit(UUID reservationId, Long orderId) {
+        if (reservationRepository.commit(reservationId, orderId) == 0
+                && !reservationRepository.existsByReservationIdAndOrderIdAndStatus(
+                        reservationId, orderId, StockReservationEntity.Status.COMMITTED)) {
+            throw new IllegalStateException("Stock reservation " + reservationId + " has expired or was already used");
+        }
+    }
+
+    @Transactional
+    public void release(UUID reservationId) {
+        reservationRepository.releaseHeld(reservationId);
+    }
+
+    @RabbitListener(queues = RestaurantQueueConfig.STOCK_QUEUE)
+    @Transactional
+    public void handleOrderCancelled(OrderCancelledEvent event) {
+        int items = reservationRepository.releaseCommitted(event.getId());
+        if (items > 0) {
+            log.info("Returned stock of {} menu items from cancelled order {}", items, event.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.expiry-sweep-interval:PT30S}")
+    @Transactional
+    public void releaseExpired() {
+        int items = reservationRepository.releaseExpired(LocalDateTime.now().minus(commitGrace));
+        if (items > 0) {
+            log.info("Returned stock of {} menu items from expired reservations", items);
+        }
+    }
+
+    @Transactional
+    public StockResponse updateStock(Long itemId, String ownerUsername, StockUpdateRequest request) {
+        MenuItemEntity item = menuItemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("MenuItem", "id", itemId));
+
+        restaurantOwnership.check(item.getRestaurant(), ownerUsername);
+
+        if (request.getAdjustment() != null) {
+            // Relative to whatever checkouts left, so reservations released later don't inflate the count
+            if (menuItemRepository.adjustStock(itemId, request.getAdjustment()) == 0) {
+                throw new IllegalStateException("Stock of menu item " + itemId + " is not tracked or would drop below zero");
+            }
+            return new StockResponse(itemId, menuItemRepository.findStockById(itemId));
+        }
+        item.setStock(request.getStock());
+        return new StockResponse(itemId, menuItemRepository.save(item).getStock());
+    }
+}
@@ -0,0 +1,253 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.OrderPlacedEvent;
+import com.amalitech.fooddelivery.restaurantservice.dto.TrendingResponse;
+import com.amalitech.fooddelivery.restaurantservice.entity.TrendingSnapshotEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.TrendingSnapshotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * "Popular right now" per city, fed by the order event stream.
+ *
+ * Every instance consumes every {@code order.placed} event into per-city {@link WindowedHeavyHitters}
+ * (one for restaurants by order count, one for dishes by quantity), so a trending read is a walk over a
+ * few dozen candidates instead of an aggregate over order history. Counters are max-merged into
+ * {@code trending_snapshots} periodically and restored on startup; orders placed while an instance is
+ * down are not replayed to it, but it catches up from the other instances' counts at its next snapshot.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+  private final RestaurantRepository restaurantRepository;
+  private final TrendingSnapshotRepository snapshotRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration window;
+  private final int buckets;
+  private final int topK;
+  private final int sketchDepth;
+  private final int sketchWidth;
+
+  private final Map<String, CityTrends> cities = new ConcurrentHashMap<>();
+  private final Map<Long, String> cityByRestaurant = new ConcurrentHashMap<>();
+
+  private static final class CityTrends {
+    private final String city;
+    private final WindowedHeavyHitters restaurants;
+    private final WindowedHeavyHitters dishes;
+    private boolean dirty;
+
+    private CityTrends(String city, WindowedHeavyHitters restaurants, WindowedHeavyHitters dishes) {
+      this.city = city;
+      this.restaurants = restaurants;
+      this.dishes = dishes;
+    }
+  }
+
+  public TrendingService(RestaurantRepository restaurantRepository,
+                         TrendingSnapshotRepository snapshotRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${app.trending.window:PT1H}") Duration window,
+                         @Value("${app.trending.buckets:12}") int buckets,
+                         @Value("${app.trending.top-k:10}") int topK,
+                         @Value("${app.trending.sketch-depth:4}") int sketchDepth,
+                         @Value("${app.trending.sketch-width:512}") int sketchWidth) {
+    this.restaurantRepository = restaurantRepository;
+    this.snapshotRepository = snapshotRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.window = window;
+    this.buckets = buckets;
+    this.topK = topK;
+    this.sketchDepth = sketchDepth;
+    this.sketchWidth = sketchWidth;
+  }
+
+  @RabbitListener(queues = "#{trendingQueue.name}")
+  public void handleOrderPlaced(OrderPlacedEvent event) {
+    if (event.getRestaurantId() == null) {
+      return;
+    }
+    String city = cityOf(event.getRestaurantId());
+    if (city == null) {
+      log.debug("No city for restaurant {}, order {} not counted as trending", event.getRestaurantId(), event.getId());
+      return;
+    }
+    long now = System.currentTimeMillis();
+    CityTrends trends = cities.computeIfAbsent(key(city), k -> newCityTrends(city));
+    synchronized (trends) {
+      trends.restaurants.add(event.getRestaurantId(), 1, now, event.getRestaurantName(), null);
+      for (OrderPlacedEvent.Item item : event.getItems()) {
+        if (item.getMenuItemId() != null && item.getQuantity() > 0) {
+          trends.dishes.add(item.getMenuItemId(), item.getQuantity(), now, item.getItemName(), event.getRestaurantId());
+        }
+      }
+      trends.dirty = true;
+    }
+  }
+
+  // Queried outside computeIfAbsent, which would hold the map bin's lock (and stall its neighbours) for the query
+  private String cityOf(Long restaurantId) {
+    String city = cityByRestaurant.get(restaurantId);
+    if (city != null) {
+      return city;
+    }
+    city = restaurantRepository.findCityById(restaurantId).orElse(null);
+    if (city == null) {
+      return null;
+    }
+    String cached = cityByRestaurant.putIfAbsent(restaurantId, city);
+    return cached != null ? cached : city;
+  }
+
+  /**
+   * @param limit capped at {@code app.trending.top-k}
+   */
+  public TrendingResponse trending(String city, int limit) {
+    int k = Math.clamp(limit, 1, topK);
+    CityTrends trends = cities.get(key(city));
+    if (trends == null) {
+      return new TrendingResponse(city, window.toString(), List.of(), List.of());
+    }
+    long now = System.currentTimeMillis();
+    synchronized (trends) {
+      return new TrendingResponse(trends.city, window.toString(),
+              trends.restaurants.top(k, now).stream()
+                      .map(hit -> new TrendingResponse.TrendingRestaurant(hit.key(), hit.label(), hit.count()))
+                      .toList(),
+              trends.dishes.top(k, now).stream()
+                      .map(hit -> new TrendingResponse.TrendingDish(hit.key(), hit.parentId(), hit.label(), hit.count()))
+                      .toList());
+    }
+  }
+
+  /**
+   * Drops the cached city of a restaurant so the next order picks up a changed city.
+   */
+  public void forgetRestaurant(Long restaurantId) {
+    cityByRestaurant.remove(restaurantId);
+  }
+
+  @Scheduled(fixedDelayString = "${app.trending.snapshot-interval:PT1M}",
+          initialDelayString = "${app.trending.snapshot-interval:PT1M}")
+  public void snapshot() {
+    for (CityTrends trends : cities.values()) {
+      synchronized (trends) {
+        if (!trends.dirty) {
+          continue;
+        }
+        trends.dirty = false;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> mergeAndSave(trends));
+      } catch (Exception e) {
+        log.warn("Failed to snapshot trending counters for {}: {}", trends.city, e.getMessage());
+        synchronized (trends) {
+          trends.dirty = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Every instance counts the same order stream, so the stored snapshot is max-merged rather than overwritten:
+   * an instance that restarted recently, and missed orders while down, neither erases the fuller counts of
+   * the others nor double counts orders they both saw. It also picks up what it missed.
+   */
+  private void mergeAndSave(CityTrends trends) {
+    String city = key(trends.city);
+    CityTrends stored = snapshotRepository.findForUpdate(city)
+            .map(snapshot -> deserialize(snapshot.getData()))
+            .orElse(null);
+    byte[] data;
+    synchronized (trends) {
+      if (stored != null) {
+        long now = System.currentTimeMillis();
+        trends.restaurants.mergeMax(stored.restaurants, now);
+        trends.dishes.mergeMax(stored.dishes, now);
+      }
+      data = serialize(trends);
+    }
+    snapshotRepository.save(TrendingSnapshotEntity.builder()
+            .city(city)
+            .data(data)
+            .takenAt(LocalDateTime.now())
+            .build());
+  }
+
+  // Before listener containers start, so restored counters are not overwritten by events already counted
+  @PostConstruct
+  void restore() {
+    try {
+      int restored = 0;
+      for (TrendingSnapshotEntity snapshot : snapshotRepository.findAll()) {
+        CityTrends trends = deserialize(snapshot.getData());
+        if (trends != null) {
+          cities.put(snapshot.getCity(), trends);
+          restored++;
+        }
+      }
+      log.info("Restored trending counters for {} cities", restored);
+    } catch (Exception e) {
+      log.warn("Could not restore trending counters, starting empty: {}", e.getMessage());
+      cities.clear();
+    }
+  }
+
+  private CityTrends newCityTrends(String city) {
+    long bucketMillis = Math.max(window.toMillis() / buckets, 1);
+    int capacity = topK * 4;
+    return new CityTrends(city,
+            new WindowedHeavyHitters(sketchDepth, sketchWidth, buckets, bucketMillis, capacity),
+            new WindowedHeavyHitters(sketchDepth, sketchWidth, buckets, bucketMillis, capacity));
+  }
+
+  /**
+   * @return the counters, or null when the snapshot was taken with a different sketch or window shape
+   */
+  private CityTrends deserialize(byte[] data) {
+    try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+      CityTrends trends = newCityTrends(in.readUTF());
+      return trends.restaurants.readFrom(in) && trends.dishes.readFrom(in) ? trends : null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read trending snapshot", e);
+    }
+  }
+
+  private static byte[] serialize(CityTrends trends) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+      out.writeUTF(trends.city);
+      trends.restaurants.writeTo(out);
+      trends.dishes.writeTo(out);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not serialize trending counters", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String key(String city) {
+    return city.trim().toUpperCase(Locale.ROOT);
+  }
+}
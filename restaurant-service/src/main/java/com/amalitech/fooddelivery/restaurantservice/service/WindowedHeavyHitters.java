@@ -0,0 +1,233 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Approximate top-K counter over a sliding time window, in bounded memory.
+ *
+ * The window is split into fixed buckets, each with its own count-min sketch ({@code depth} rows of
+ * {@code width} counters). A key's window count is the smallest row-sum across the live buckets, which
+ * can over-count on collisions but never under-counts. Expired buckets are cleared lazily when their
+ * slot is reused. Only keys in a small candidate set (a few times K) are remembered by id; a newcomer
+ * displaces the weakest candidate when it outgrows it.
+ *
+ * Not thread-safe; callers synchronise.
+ */
+public class WindowedHeavyHitters {
+
+  private static final int SNAPSHOT_FORMAT = 1;
+
+  private final int depth;
+  private final int width;
+  private final int buckets;
+  private final long bucketMillis;
+  private final int capacity;
+
+  private final int[][][] counts;
+  private final long[] bucketEpochs;
+  private final Map<Long, Candidate> candidates = new HashMap<>();
+
+  public record Hit(long key, String label, Long parentId, long count) {
+  }
+
+  private record Candidate(String label, Long parentId) {
+  }
+
+  public WindowedHeavyHitters(int depth, int width, int buckets, long bucketMillis, int capacity) {
+    this.depth = depth;
+    this.width = width;
+    this.buckets = buckets;
+    this.bucketMillis = bucketMillis;
+    this.capacity = capacity;
+    this.counts = new int[buckets][depth][width];
+    this.bucketEpochs = new long[buckets];
+    Arrays.fill(bucketEpochs, Long.MIN_VALUE);
+  }
+
+  /**
+   * Counts {@code amount} occurrences of {@code key} at {@code nowMillis}.
+   *
+   * @param label    display name kept with the key while it is a candidate
+   * @param parentId optional owning id kept with the key (e.g. the restaurant of a dish)
+   */
+  public void add(long key, int amount, long nowMillis, String label, Long parentId) {
+    long epoch = nowMillis / bucketMillis;
+    int slot = slotFor(epoch);
+    for (int row = 0; row < depth; row++) {
+      int[] counters = counts[slot][row];
+      int column = column(key, row);
+      counters[column] = (int) Math.min((long) counters[column] + amount, Integer.MAX_VALUE);
+    }
+
+    candidates.put(key, new Candidate(label, parentId));
+    evictWeakest(epoch);
+  }
+
+  /**
+   * Folds in another counter of the same event stream, such as another instance's snapshot: per bucket the
+   * newer one wins and equal buckets keep the larger of each counter, so events both have seen are not
+   * counted twice. Returns false, leaving this counter untouched, when the shapes differ.
+   */
+  public boolean mergeMax(WindowedHeavyHitters other, long nowMillis) {
+    if (other.depth != depth || other.width != width || other.buckets != buckets || other.bucketMillis != bucketMillis) {
+      return false;
+    }
+    for (int slot = 0; slot < buckets; slot++) {
+      long theirs = other.bucketEpochs[slot];
+      if (theirs > bucketEpochs[slot]) {
+        for (int row = 0; row < depth; row++) {
+          System.arraycopy(other.counts[slot][row], 0, counts[slot][row], 0, width);
+        }
+        bucketEpochs[slot] = theirs;
+      } else if (theirs == bucketEpochs[slot]) {
+        for (int row = 0; row < depth; row++) {
+          int[] counters = counts[slot][row];
+          int[] theirCounters = other.counts[slot][row];
+          for (int column = 0; column < width; column++) {
+            counters[column] = Math.max(counters[column], theirCounters[column]);
+          }
+        }
+      }
+    }
+    other.candidates.forEach(candidates::putIfAbsent);
+    evictWeakest(nowMillis / bucketMillis);
+    return true;
+  }
+
+  /**
+   * Returns up to {@code limit} candidates with the highest window counts at {@code nowMillis}, highest first.
+   */
+  public List<Hit> top(int limit, long nowMillis) {
+    long epoch = nowMillis / bucketMillis;
+    PriorityQueue<Hit> heap = new PriorityQueue<>(Comparator.comparingLong(Hit::count));
+    candidates.entrySet().removeIf(entry -> {
+      long count = estimate(entry.getKey(), epoch);
+      if (count == 0) {
+        return true;
+      }
+      heap.offer(new Hit(entry.getKey(), entry.getValue().label(), entry.getValue().parentId(), count));
+      if (heap.size() > limit) {
+        heap.poll();
+      }
+      return false;
+    });
+    List<Hit> hits = new ArrayList<>(heap);
+    hits.sort(Comparator.comparingLong(Hit::count).reversed().thenComparingLong(Hit::key));
+    return hits;
+  }
+
+  public void writeTo(DataOutputStream out) throws IOException {
+    out.writeInt(SNAPSHOT_FORMAT);
+    out.writeInt(depth);
+    out.writeInt(width);
+    out.writeInt(buckets);
+    out.writeLong(bucketMillis);
+    for (int slot = 0; slot < buckets; slot++) {
+      out.writeLong(bucketEpochs[slot]);
+      for (int row = 0; row < depth; row++) {
+        for (int column = 0; column < width; column++) {
+          out.writeInt(counts[slot][row][column]);
+        }
+      }
+    }
+    out.writeInt(candidates.size());
+    for (Map.Entry<Long, Candidate> entry : candidates.entrySet()) {
+      out.writeLong(entry.getKey());
+      out.writeUTF(entry.getValue().label() == null ? "" : entry.getValue().label());
+      out.writeBoolean(entry.getValue().parentId() != null);
+      out.writeLong(entry.getValue().parentId() == null ? 0 : entry.getValue().parentId());
+    }
+  }
+
+  /**
+   * Restores state written by {@link #writeTo}. Returns false, leaving this counter untouched, when the
+   * snapshot was taken with a different sketch or window shape.
+   */
+  public boolean readFrom(DataInputStream in) throws IOException {
+    if (in.readInt() != SNAPSHOT_FORMAT || in.readInt() != depth || in.readInt() != width
+            || in.readInt() != buckets || in.readLong() != bucketMillis) {
+      return false;
+    }
+    for (int slot = 0; slot < buckets; slot++) {
+      bucketEpochs[slot] = in.readLong();
+      for (int row = 0; row < depth; row++) {
+        for (int column = 0; column < width; column++) {
+          counts[slot][row][column] = in.readInt();
+        }
+      }
+    }
+    candidates.clear();
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      long key = in.readLong();
+      String label = in.readUTF();
+      boolean hasParent = in.readBoolean();
+      long parentId = in.readLong();
+      candidates.put(key, new Candidate(label.isEmpty() ? null : label, hasParent ? parentId : null));
+    }
+    return true;
+  }
+
+  private long estimate(long key, long epoch) {
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int column = column(key, row);
+      long sum = 0;
+      for (int slot = 0; slot < buckets; slot++) {
+        if (isLive(bucketEpochs[slot], epoch)) {
+          sum += counts[slot][row][column];
+        }
+      }
+      min = Math.min(min, sum);
+    }
+    return min;
+  }
+
+  private void evictWeakest(long epoch) {
+    while (candidates.size() > capacity) {
+      Long weakest = null;
+      long weakestCount = Long.MAX_VALUE;
+      for (Long candidate : candidates.keySet()) {
+        long count = estimate(candidate, epoch);
+        if (count < weakestCount) {
+          weakest = candidate;
+          weakestCount = count;
+        }
+      }
+      candidates.remove(weakest);
+    }
+  }
+
+  private int slotFor(long epoch) {
+    int slot = (int) Math.floorMod(epoch, (long) buckets);
+    if (bucketEpochs[slot] != epoch) {
+      for (int[] counters : counts[slot]) {
+        Arrays.fill(counters, 0);
+      }
+      bucketEpochs[slot] = epoch;
+    }
+    return slot;
+  }
+
+  private boolean isLive(long bucketEpoch, long epoch) {
+    return bucketEpoch <= epoch && bucketEpoch > epoch - buckets;
+  }
+
+  // SplitMix64 finaliser over the key and a per-row seed; fixed so snapshots stay valid across restarts
+  private int column(long key, int row) {
+    long h = key + (row + 1) * 0x9E3779B97F4A7C15L;
+    h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+    h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+    h ^= h >>> 31;
+    return (int) Math.floorMod(h, (long) width);
+  }
+}
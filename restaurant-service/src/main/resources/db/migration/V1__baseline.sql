@@ -0,0 +1,88 @@
+-- Schema as previously generated by ddl-auto: update. Existing databases are baselined at this version.
+
+create table restaurants (
+    id                         bigint generated by default as identity primary key,
+    name                       varchar(255) not null,
+    description                text,
+    cuisine_type               varchar(255),
+    address                    varchar(255),
+    city                       varchar(255),
+    phone                      varchar(255),
+    latitude                   float(53),
+    longitude                  float(53),
+    active                     boolean not null,
+    rating                     float(53) not null,
+    rating_count               bigint default 0 not null,
+    rating_sum                 bigint default 0 not null,
+    estimated_delivery_minutes integer not null,
+    menu_version               bigint default 0 not null,
+    created_at                 timestamp(6) not null,
+    owner_id                   bigint,
+    order_ids                  bigint array
+);
+
+create table menu_items (
+    id            bigint generated by default as identity primary key,
+    name          varchar(255) not null,
+    description   varchar(255),
+    price         numeric(38, 2) not null,
+    category      varchar(255),
+    available     boolean not null,
+    image_url     varchar(255),
+    restaurant_id bigint not null references restaurants (id)
+);
+
+create table restaurant_opening_hours (
+    id            bigint generated by default as identity primary key,
+    restaurant_id bigint not null,
+    day_of_week   varchar(255) not null
+        check (day_of_week in ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    opens_at      time(6) not null,
+    closes_at     time(6) not null
+);
+create index idx_opening_hours_restaurant on restaurant_opening_hours (restaurant_id);
+
+create table restaurant_holiday_overrides (
+    id            bigint generated by default as identity primary key,
+    restaurant_id bigint not null,
+    date          date not null,
+    closed        boolean not null,
+    opens_at      time(6),
+    closes_at     time(6),
+    constraint uk_holiday_overrides_restaurant_date unique (restaurant_id, date)
+);
+
+create table restaurant_reviews (
+    id            bigint generated by default as identity primary key,
+    order_id      bigint not null,
+    review_id     bigint,
+    restaurant_id bigint not null,
+    stars         integer not null,
+    reviewed_at   timestamp(6),
+    constraint uk_restaurant_reviews_order_id unique (order_id)
+);
+create index idx_restaurant_reviews_restaurant on restaurant_reviews (restaurant_id);
+
+create table menu_snapshots (
+    id            bigint generated by default as identity primary key,
+    restaurant_id bigint not null,
+    version       bigint not null,
+    content_hash  varchar(64) not null,
+    item_count    integer not null,
+    created_at    timestamp(6) not null,
+    constraint uk_menu_snapshots_restaurant_version unique (restaurant_id, version)
+);
+
+create table menu_item_changes (
+    id            bigint generated by default as identity primary key,
+    restaurant_id bigint not null,
+    version       bigint not null,
+    menu_item_id  bigint not null,
+    name          varchar(255) not null,
+    description   varchar(255),
+    price         numeric(38, 2) not null,
+    category      varchar(255),
+    available     boolean not null,
+    image_url     varchar(255)
+);
+create index idx_menu_item_changes_restaurant_version on menu_item_changes (restaurant_id, version);
@@ -0,0 +1,25 @@
+-- Spring Data's IgnoreCase compares upper(column) = upper(?), so the expression indexes use upper().
+-- Listings only return active restaurants, hence partial indexes; the trailing columns match sort=rating
+-- so ordered listings are read straight from the index.
+
+-- RestaurantRepository.findByCityIgnoreCaseAndActiveTrue
+create index idx_restaurants_city_active on restaurants (upper(city), rating desc, rating_count desc, id)
+    where active;
+
+-- RestaurantRepository.findByCuisineTypeIgnoreCaseAndActiveTrue
+create index idx_restaurants_cuisine_active on restaurants (upper(cuisine_type), rating desc, rating_count desc, id)
+    where active;
+
+-- RestaurantRepository.findByActiveTrue sorted by rating
+create index idx_restaurants_active_rating on restaurants (rating desc, rating_count desc, id)
+    where active;
+
+-- RestaurantRepository.findByOwnerId
+create index idx_restaurants_owner_id on restaurants (owner_id);
+
+-- MenuItemRepository.findByRestaurantIdAndAvailableTrue (public menu)
+create index idx_menu_items_restaurant_available on menu_items (restaurant_id)
+    where available;
+
+-- MenuItemRepository.findByRestaurantIdAndCategory; its prefix also serves findByRestaurantId
+create index idx_menu_items_restaurant_category on menu_items (restaurant_id, category);
@@ -0,0 +1,16 @@
+-- Orders per restaurant move off the restaurants row into an association table maintained from order.placed events.
+
+create table restaurant_orders (
+    order_id      bigint primary key,
+    restaurant_id bigint not null,
+    placed_at     timestamp(6)
+);
+create index idx_restaurant_orders_restaurant on restaurant_orders (restaurant_id);
+
+insert into restaurant_orders (order_id, restaurant_id)
+select distinct on (o.order_id) o.order_id, r.id
+from restaurants r, unnest(r.order_ids) as o(order_id)
+where o.order_id is not null
+order by o.order_id, r.id;
+
+alter table restaurants drop column order_ids;
@@ -0,0 +1,18 @@
+-- Optional per-item stock (null = not tracked) and the checkout reservations taken from it.
+
+alter table menu_items add column stock integer check (stock >= 0);
+
+create table stock_reservations (
+    id             bigint generated by default as identity primary key,
+    reservation_id uuid not null,
+    menu_item_id   bigint not null,
+    quantity       integer not null check (quantity > 0),
+    status         varchar(255) not null check (status in ('HELD', 'COMMITTED', 'RELEASED')),
+    order_id       bigint,
+    expires_at     timestamp(6) not null,
+    created_at     timestamp(6) not null
+);
+create index idx_stock_reservations_reservation on stock_reservations (reservation_id);
+create index idx_stock_reservations_order on stock_reservations (order_id);
+-- Expiry sweep only ever looks at held rows
+create index idx_stock_reservations_held_expiry on stock_reservations (expires_at) where status = 'HELD';
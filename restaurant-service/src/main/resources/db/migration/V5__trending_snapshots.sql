@@ -0,0 +1,7 @@
+-- Periodic snapshots of the in-memory trending counters, one row per city.
+
+create table trending_snapshots (
+    city     varchar(255) primary key,
+    data     bytea not null,
+    taken_at timestamp(6) not null
+);
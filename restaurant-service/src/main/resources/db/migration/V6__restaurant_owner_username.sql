@@ -0,0 +1,4 @@
+-- Owner's username, so ownership checks need no Customer Service lookup.
+-- Existing rows are filled in by RestaurantOwnership on the owner's next write.
+
+alter table restaurants add column owner_username varchar(255);
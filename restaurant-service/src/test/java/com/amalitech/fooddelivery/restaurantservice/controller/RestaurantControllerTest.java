@@ -0,0 +1,102 @@
+package com.amalitech.fooddelivery.restaurantservice.controller;
+
+import com.amalitech.fooddelivery.restaurantservice.dto.MenuItemResponse;
+import com.amalitech.fooddelivery.restaurantservice.service.MenuImportService;
+import com.amalitech.fooddelivery.restaurantservice.service.MenuSnapshotService;
+import com.amalitech.fooddelivery.restaurantservice.service.OpeningHoursIndex;
+import com.amalitech.fooddelivery.restaurantservice.service.OpeningHoursService;
+import com.amalitech.fooddelivery.restaurantservice.service.QuoteService;
+import com.amalitech.fooddelivery.restaurantservice.service.RestaurantGeoIndex;
+import com.amalitech.fooddelivery.restaurantservice.service.RestaurantSearchIndex;
+import com.amalitech.fooddelivery.restaurantservice.service.RestaurantService;
+import com.amalitech.fooddelivery.restaurantservice.service.StockService;
+import com.amalitech.fooddelivery.restaurantservice.service.TrendingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RestaurantControllerTest {
+
+  private static final String OLD_TAG = "\"menu-1-4\"";
+  private static final String NEW_TAG = "\"menu-1-5\"";
+
+  private final RestaurantService restaurantService = mock(RestaurantService.class);
+  private final RestaurantController controller = new RestaurantController(restaurantService,
+          mock(RestaurantSearchIndex.class), mock(RestaurantGeoIndex.class), mock(MenuImportService.class),
+          mock(MenuSnapshotService.class), mock(OpeningHoursService.class), mock(OpeningHoursIndex.class),
+          mock(StockService.class), mock(TrendingService.class), mock(QuoteService.class));
+
+  @Test
+  void menuFilledBeforeAWriteIsReloadedUnderTheNewTag() {
+    // A miss read version 4, a write committed version 5 and evicted both caches, then the miss stored version 4
+    RestaurantService.Menu stale = new RestaurantService.Menu(OLD_TAG, List.of(item("Old soup")));
+    RestaurantService.Menu fresh = new RestaurantService.Menu(NEW_TAG, List.of(item("New soup")));
+    when(restaurantService.getMenuETag(1L)).thenReturn(NEW_TAG);
+    when(restaurantService.getMenu(1L)).thenReturn(stale, fresh);
+
+    ResponseEntity<List<MenuItemResponse>> response = controller.getMenu(1L, request(null));
+
+    verify(restaurantService).evictMenu(1L);
+    assertThat(response.getHeaders().getETag()).isEqualTo(NEW_TAG);
+    assertThat(response.getBody()).extracting(MenuItemResponse::getName).containsExactly("New soup");
+  }
+
+  @Test
+  void menuIsNeverServedUnderATagItWasNotReadAt() {
+    // The reload still finds the old menu, e.g. the version cache is ahead of the menu cache fill
+    RestaurantService.Menu stale = new RestaurantService.Menu(OLD_TAG, List.of(item("Old soup")));
+    when(restaurantService.getMenuETag(1L)).thenReturn(NEW_TAG);
+    when(restaurantService.getMenu(1L)).thenReturn(stale);
+
+    ResponseEntity<List<MenuItemResponse>> response = controller.getMenu(1L, request(null));
+
+    assertThat(response.getHeaders().getETag()).isEqualTo(OLD_TAG);
+    assertThat(response.getBody()).extracting(MenuItemResponse::getName).containsExactly("Old soup");
+  }
+
+  @Test
+  void currentMenuIsServedWithoutReload() {
+    when(restaurantService.getMenuETag(1L)).thenReturn(NEW_TAG);
+    when(restaurantService.getMenu(1L)).thenReturn(new RestaurantService.Menu(NEW_TAG, List.of(item("Soup"))));
+
+    ResponseEntity<List<MenuItemResponse>> response = controller.getMenu(1L, request(null));
+
+    verify(restaurantService, never()).evictMenu(1L);
+    assertThat(response.getHeaders().getETag()).isEqualTo(NEW_TAG);
+  }
+
+  @Test
+  void matchingTagIsAnsweredWithoutLoadingTheMenu() {
+    when(restaurantService.getMenuETag(1L)).thenReturn(NEW_TAG);
+
+    ResponseEntity<List<MenuItemResponse>> response = controller.getMenu(1L, request(NEW_TAG));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    verify(restaurantService, never()).getMenu(1L);
+  }
+
+  private static ServletWebRequest request(String ifNoneMatch) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants/1/menu");
+    if (ifNoneMatch != null) {
+      request.addHeader("If-None-Match", ifNoneMatch);
+    }
+    return new ServletWebRequest(request, new MockHttpServletResponse());
+  }
+
+  private static MenuItemResponse item(String name) {
+    MenuItemResponse item = new MenuItemResponse();
+    item.setName(name);
+    return item;
+  }
+}
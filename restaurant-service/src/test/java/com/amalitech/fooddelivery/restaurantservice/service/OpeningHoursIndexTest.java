@@ -0,0 +1,118 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import com.amalitech.fooddelivery.restaurantservice.entity.HolidayOverrideEntity;
+import com.amalitech.fooddelivery.restaurantservice.entity.OpeningHoursEntity;
+import com.amalitech.fooddelivery.restaurantservice.repository.HolidayOverrideRepository;
+import com.amalitech.fooddelivery.restaurantservice.repository.OpeningHoursRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OpeningHoursIndexTest {
+
+  private static final long RESTAURANT = 1L;
+  // A Friday; its overnight slot runs into Saturday morning
+  private static final LocalDate FRIDAY = LocalDate.of(2030, 1, 4);
+
+  private final OpeningHoursRepository openingHoursRepository = mock(OpeningHoursRepository.class);
+  private final HolidayOverrideRepository holidayOverrideRepository = mock(HolidayOverrideRepository.class);
+  private final OpeningHoursIndex index = new OpeningHoursIndex(openingHoursRepository, holidayOverrideRepository);
+
+  OpeningHoursIndexTest() {
+    ReflectionTestUtils.setField(index, "zone", ZoneOffset.UTC);
+  }
+
+  @Test
+  void weeklyOvernightSlotRunsIntoTheNextMorning() {
+    load(List.of(slot(DayOfWeek.FRIDAY, "18:00", "02:00")), List.of());
+
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY, "23:00"))).isTrue();
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY.plusDays(1), "01:30"))).isTrue();
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY.plusDays(1), "02:30"))).isFalse();
+  }
+
+  @Test
+  void sundayNightSlotWrapsToMonday() {
+    LocalDate sunday = FRIDAY.plusDays(2);
+    load(List.of(slot(DayOfWeek.SUNDAY, "20:00", "01:00")), List.of());
+
+    assertThat(index.isOpenAt(RESTAURANT, at(sunday.plusDays(1), "00:30"))).isTrue();
+    assertThat(index.isOpenAt(RESTAURANT, at(sunday.plusDays(1), "01:30"))).isFalse();
+  }
+
+  @Test
+  void nightAfterAClosedHolidayStaysClosed() {
+    load(List.of(slot(DayOfWeek.FRIDAY, "18:00", "02:00")), List.of(closed(FRIDAY)));
+
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY, "23:00"))).isFalse();
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY.plusDays(1), "01:30"))).isFalse();
+    // The following Friday is not overridden
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY.plusDays(8), "01:30"))).isTrue();
+  }
+
+  @Test
+  void overriddenMorningKeepsYesterdaysWeeklyOvernightHours() {
+    LocalDate saturday = FRIDAY.plusDays(1);
+    load(List.of(slot(DayOfWeek.FRIDAY, "18:00", "02:00"), slot(DayOfWeek.SATURDAY, "09:00", "22:00")),
+            List.of(open(saturday, "12:00", "14:00")));
+
+    assertThat(index.isOpenAt(RESTAURANT, at(saturday, "01:30"))).isTrue();
+    assertThat(index.isOpenAt(RESTAURANT, at(saturday, "10:00"))).isFalse();
+    assertThat(index.isOpenAt(RESTAURANT, at(saturday, "13:00"))).isTrue();
+  }
+
+  @Test
+  void holidayOvernightHoursReplaceTheWeeklyOnes() {
+    LocalDate saturday = FRIDAY.plusDays(1);
+    load(List.of(slot(DayOfWeek.FRIDAY, "18:00", "02:00")), List.of(open(FRIDAY, "20:00", "04:00")));
+
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY, "19:00"))).isFalse();
+    assertThat(index.isOpenAt(RESTAURANT, at(saturday, "03:30"))).isTrue();
+    assertThat(index.isOpenAt(RESTAURANT, at(saturday, "04:30"))).isFalse();
+  }
+
+  @Test
+  void overridesAloneLeaveTheRestOfTheWeekOpen() {
+    load(List.of(), List.of(closed(FRIDAY)));
+
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY, "12:00"))).isFalse();
+    assertThat(index.isOpenAt(RESTAURANT, at(FRIDAY.plusDays(1), "12:00"))).isTrue();
+  }
+
+  private void load(List<OpeningHoursEntity> slots, List<HolidayOverrideEntity> overrides) {
+    when(openingHoursRepository.findByRestaurantId(RESTAURANT)).thenReturn(slots);
+    when(holidayOverrideRepository.findByRestaurantIdAndDateGreaterThanEqualOrderByDate(eq(RESTAURANT), any()))
+            .thenReturn(overrides);
+    index.refresh(RESTAURANT);
+  }
+
+  private static OpeningHoursEntity slot(DayOfWeek day, String opensAt, String closesAt) {
+    return OpeningHoursEntity.builder().restaurantId(RESTAURANT).dayOfWeek(day)
+            .opensAt(LocalTime.parse(opensAt)).closesAt(LocalTime.parse(closesAt)).build();
+  }
+
+  private static HolidayOverrideEntity closed(LocalDate date) {
+    return HolidayOverrideEntity.builder().restaurantId(RESTAURANT).date(date).closed(true).build();
+  }
+
+  private static HolidayOverrideEntity open(LocalDate date, String opensAt, String closesAt) {
+    return HolidayOverrideEntity.builder().restaurantId(RESTAURANT).date(date)
+            .opensAt(LocalTime.parse(opensAt)).closesAt(LocalTime.parse(closesAt)).build();
+  }
+
+  private static ZonedDateTime at(LocalDate date, String time) {
+    return date.atTime(LocalTime.parse(time)).atZone(ZoneOffset.UTC);
+  }
+}
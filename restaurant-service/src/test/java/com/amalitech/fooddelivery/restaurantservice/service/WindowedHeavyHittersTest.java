@@ -0,0 +1,131 @@
+package com.amalitech.fooddelivery.restaurantservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WindowedHeavyHittersTest {
+
+  private static final long BUCKET_MILLIS = 1000;
+  private static final int BUCKETS = 4;
+
+  private static WindowedHeavyHitters counter(int capacity) {
+    return new WindowedHeavyHitters(4, 256, BUCKETS, BUCKET_MILLIS, capacity);
+  }
+
+  @Test
+  void ranksKeysByWindowCount() {
+    WindowedHeavyHitters hitters = counter(10);
+    hitters.add(1, 3, 0, "one", null);
+    hitters.add(2, 7, 0, "two", 20L);
+    hitters.add(3, 5, 500, "three", null);
+
+    List<WindowedHeavyHitters.Hit> top = hitters.top(2, 900);
+
+    assertThat(top).extracting(WindowedHeavyHitters.Hit::key).containsExactly(2L, 3L);
+    assertThat(top.getFirst().count()).isEqualTo(7);
+    assertThat(top.getFirst().label()).isEqualTo("two");
+    assertThat(top.getFirst().parentId()).isEqualTo(20L);
+  }
+
+  @Test
+  void sumsAcrossLiveBucketsAndDropsExpiredOnes() {
+    WindowedHeavyHitters hitters = counter(10);
+    hitters.add(1, 2, 0, "one", null);
+    hitters.add(1, 3, 2 * BUCKET_MILLIS, "one", null);
+
+    assertThat(hitters.top(1, 3 * BUCKET_MILLIS).getFirst().count()).isEqualTo(5);
+    // The first bucket has left the window, the second is still in it
+    assertThat(hitters.top(1, BUCKETS * BUCKET_MILLIS).getFirst().count()).isEqualTo(3);
+    assertThat(hitters.top(1, (BUCKETS + 2) * BUCKET_MILLIS)).isEmpty();
+  }
+
+  @Test
+  void neverUnderCounts() {
+    WindowedHeavyHitters hitters = counter(200);
+    for (long key = 0; key < 100; key++) {
+      hitters.add(key, (int) key + 1, 0, null, null);
+    }
+    for (WindowedHeavyHitters.Hit hit : hitters.top(100, 0)) {
+      assertThat(hit.count()).isGreaterThanOrEqualTo(hit.key() + 1);
+    }
+  }
+
+  @Test
+  void weakestCandidateIsDisplacedAtCapacity() {
+    WindowedHeavyHitters hitters = counter(2);
+    hitters.add(1, 10, 0, "one", null);
+    hitters.add(2, 1, 0, "two", null);
+    hitters.add(3, 5, 0, "three", null);
+
+    assertThat(hitters.top(10, 0)).extracting(WindowedHeavyHitters.Hit::key).containsExactly(1L, 3L);
+  }
+
+  @Test
+  void mergeMaxDoesNotDoubleCountTheSameEvents() {
+    WindowedHeavyHitters full = counter(10);
+    WindowedHeavyHitters lagging = counter(10);
+    full.add(1, 4, 0, "one", null);
+    full.add(2, 6, BUCKET_MILLIS, "two", null);
+    // Missed the first order, then saw the same later one
+    lagging.add(2, 6, BUCKET_MILLIS, "two", null);
+
+    assertThat(lagging.mergeMax(full, BUCKET_MILLIS)).isTrue();
+
+    assertThat(lagging.top(10, BUCKET_MILLIS))
+            .extracting(WindowedHeavyHitters.Hit::key, WindowedHeavyHitters.Hit::count)
+            .containsExactly(tuple(2L, 6L), tuple(1L, 4L));
+  }
+
+  @Test
+  void mergeMaxRejectsADifferentShape() {
+    WindowedHeavyHitters hitters = counter(10);
+    hitters.add(1, 1, 0, "one", null);
+    WindowedHeavyHitters other = new WindowedHeavyHitters(4, 128, BUCKETS, BUCKET_MILLIS, 10);
+    other.add(2, 1, 0, "two", null);
+
+    assertThat(hitters.mergeMax(other, 0)).isFalse();
+    assertThat(hitters.top(10, 0)).extracting(WindowedHeavyHitters.Hit::key).containsExactly(1L);
+  }
+
+  @Test
+  void snapshotRoundTrips() throws IOException {
+    WindowedHeavyHitters hitters = counter(10);
+    hitters.add(1, 3, 0, "one", 9L);
+    hitters.add(2, 1, BUCKET_MILLIS, null, null);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      hitters.writeTo(out);
+    }
+    WindowedHeavyHitters restored = counter(10);
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertThat(restored.readFrom(in)).isTrue();
+    }
+
+    assertThat(restored.top(10, BUCKET_MILLIS)).isEqualTo(hitters.top(10, BUCKET_MILLIS));
+  }
+
+  @Test
+  void snapshotOfADifferentShapeIsIgnored() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      new WindowedHeavyHitters(4, 128, BUCKETS, BUCKET_MILLIS, 10).writeTo(out);
+    }
+    WindowedHeavyHitters hitters = counter(10);
+    hitters.add(1, 1, 0, "one", null);
+
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertThat(hitters.readFrom(in)).isFalse();
+    }
+    assertThat(hitters.top(10, 0)).hasSize(1);
+  }
+}